@@ -0,0 +1,117 @@
+package com.projeto.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.projeto.model.Pedido;
+import com.projeto.repository.PedidoRepository;
+
+/**
+ * Escalabilidade sob concorrência: dispara rajadas de requisições simultâneas contra o Tomcat
+ * com threads de plataforma (padrão, até 200 threads) e com virtual threads (perfil "virtual").
+ * Cada comando SQL sofre uma latência simulada, de modo que as requisições passam a maior parte
+ * do tempo bloqueadas em JDBC, como contra um PostgreSQL remoto.
+ *
+ * O modo "virtual" exige rodar o benchmark em um JDK 21+, por exemplo:
+ *   JAVA_HOME=/caminho/jdk-21 ./mvnw -Pbenchmark verify -Djmh.filtro=ConcorrenciaBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcorrenciaBenchmark {
+
+    private static final int CLIENTES = 200;
+    private static final int AUTOMOVEIS = 200;
+    private static final int PEDIDOS = 2_000;
+    private static final long LATENCIA_SQL_MILLIS = 10;
+    // Maior que o limite de threads do Tomcat, para que o número de threads (e não o pool) seja o gargalo
+    private static final int CONEXOES = 300;
+
+    @Param({"plataforma", "virtual"})
+    public String modo;
+
+    @Param({"50", "200", "800"})
+    public int concorrencia;
+
+    @Param({"consulta", "criacao"})
+    public String operacao;
+
+    private ContextoBenchmark contexto;
+    private HttpClient http;
+    private String base;
+    private List<Long> pedidos;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        boolean virtual = "virtual".equals(modo);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("virtual threads exigem Java 21; JVM atual: " + Runtime.version());
+        }
+        LatenciaBancoSimulada.latenciaMillis = 0;
+        contexto = ContextoBenchmark.iniciarWeb(CLIENTES, AUTOMOVEIS, PEDIDOS,
+            "spring.threads.virtual.enabled=" + virtual,
+            "spring.datasource.hikari.maximum-pool-size=" + CONEXOES,
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector=" + LatenciaBancoSimulada.class.getName());
+        base = "http://localhost:" + contexto.porta();
+        pedidos = contexto.bean(PedidoRepository.class).findAll().stream()
+            .map(Pedido::getId).toList();
+        http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        LatenciaBancoSimulada.latenciaMillis = LATENCIA_SQL_MILLIS;
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        LatenciaBancoSimulada.latenciaMillis = 0;
+        contexto.close();
+    }
+
+    // Tempo para concluir uma rajada de `concorrencia` requisições simultâneas
+    @Benchmark
+    public int rajada() {
+        List<CompletableFuture<HttpResponse<Void>>> respostas = new ArrayList<>(concorrencia);
+        for (int i = 0; i < concorrencia; i++) {
+            respostas.add(http.sendAsync(requisicao(), HttpResponse.BodyHandlers.discarding()));
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> r : respostas) {
+            int status = r.join().statusCode();
+            if (status / 100 != 2) throw new IllegalStateException("resposta inesperada: " + status);
+            ok++;
+        }
+        return ok;
+    }
+
+    private HttpRequest requisicao() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        if ("consulta".equals(operacao)) {
+            return HttpRequest.newBuilder(URI.create(base + "/pedidos/" + pedidos.get(r.nextInt(pedidos.size()))))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        }
+        long cliente = contexto.clientes().get(r.nextInt(CLIENTES)).getId();
+        long automovel = contexto.automoveis().get(r.nextInt(AUTOMOVEIS)).getId();
+        String corpo = "{\"cliente\":{\"id\":" + cliente + "},\"automovel\":{\"id\":" + automovel + "}}";
+        return HttpRequest.newBuilder(URI.create(base + "/pedidos"))
+            .timeout(Duration.ofSeconds(60))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(corpo))
+            .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.projeto.bench;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.projeto.Application;
+import com.projeto.model.Automovel;
+import com.projeto.model.Pedido;
+import com.projeto.model.Usuario;
+import com.projeto.repository.AutomovelRepository;
+import com.projeto.repository.PedidoRepository;
+import com.projeto.repository.UsuarioRepository;
+import com.projeto.service.SenhaService;
+
+/**
+ * Sobe o contexto Spring (sem servidor web, ou com Tomcat em porta aleatória) sobre um H2 em memória
+ * exclusivo e semeia dados. Compartilhado pelos benchmarks que exercitam serviços, repositórios e endpoints.
+ */
+public final class ContextoBenchmark implements AutoCloseable {
+
+    public static final String SENHA = "senha-bench";
+
+    private final ConfigurableApplicationContext contexto;
+    private final List<Usuario> clientes = new ArrayList<>();
+    private final List<Automovel> automoveis = new ArrayList<>();
+
+    private ContextoBenchmark(ConfigurableApplicationContext contexto) {
+        this.contexto = contexto;
+    }
+
+    public static ContextoBenchmark iniciar(int clientes, int automoveis, int pedidos, String... propriedadesExtras) {
+        return iniciar(WebApplicationType.NONE, clientes, automoveis, pedidos, propriedadesExtras);
+    }
+
+    public static ContextoBenchmark iniciarWeb(int clientes, int automoveis, int pedidos, String... propriedadesExtras) {
+        List<String> props = new ArrayList<>(List.of(propriedadesExtras));
+        props.add("server.port=0");
+        return iniciar(WebApplicationType.SERVLET, clientes, automoveis, pedidos, props.toArray(String[]::new));
+    }
+
+    private static ContextoBenchmark iniciar(WebApplicationType tipo, int clientes, int automoveis, int pedidos,
+                                             String... propriedadesExtras) {
+        List<String> props = new ArrayList<>(List.of(
+            "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "spring.datasource.driver-class-name=org.h2.Driver",
+            "spring.datasource.username=sa",
+            "spring.datasource.password=",
+            "spring.jpa.hibernate.ddl-auto=create",
+            "spring.jpa.show-sql=false",
+            "logging.level.root=WARN"));
+        props.addAll(List.of(propriedadesExtras));
+        ConfigurableApplicationContext ctx = new SpringApplicationBuilder(Application.class)
+            .web(tipo)
+            .properties(props.toArray(String[]::new))
+            .run();
+        ContextoBenchmark b = new ContextoBenchmark(ctx);
+        b.semear(clientes, automoveis, pedidos);
+        return b;
+    }
+
+    private void semear(int qtdClientes, int qtdAutomoveis, int qtdPedidos) {
+        UsuarioRepository usuarioRepository = bean(UsuarioRepository.class);
+        AutomovelRepository automovelRepository = bean(AutomovelRepository.class);
+        PedidoRepository pedidoRepository = bean(PedidoRepository.class);
+        // BCrypt é caro: calcula um hash e reutiliza para todos os usuários semeados
+        String hash = bean(SenhaService.class).gerarHash(SENHA);
+
+        List<Usuario> novosClientes = new ArrayList<>(qtdClientes);
+        for (int i = 0; i < qtdClientes; i++) {
+            novosClientes.add(new Usuario("Cliente " + i, cpf(i), "RG-" + i, "Rua " + i, "Profissão " + i, hash,
+                Usuario.TipoUsuario.Cliente));
+        }
+        clientes.addAll(usuarioRepository.saveAll(novosClientes));
+
+        List<Automovel> novosAutomoveis = new ArrayList<>(qtdAutomoveis);
+        for (int i = 0; i < qtdAutomoveis; i++) {
+            novosAutomoveis.add(new Automovel("BEN" + i, "MAT" + i, 2000 + i % 25, "Marca " + i % 10, "Modelo " + i % 40,
+                clientes.get(i % clientes.size())));
+        }
+        automoveis.addAll(automovelRepository.saveAll(novosAutomoveis));
+
+        List<Pedido> novosPedidos = new ArrayList<>(qtdPedidos);
+        for (int i = 0; i < qtdPedidos; i++) {
+            novosPedidos.add(new Pedido(clientes.get(i % clientes.size()), automoveis.get(i % automoveis.size()),
+                Pedido.StatusPedido.values()[i % Pedido.StatusPedido.values().length], new Date()));
+        }
+        pedidoRepository.saveAll(novosPedidos);
+    }
+
+    public static String cpf(int i) {
+        return String.format("%011d", 10_000_000_000L + i);
+    }
+
+    // Porta escolhida pelo Tomcat quando iniciado com iniciarWeb
+    public int porta() {
+        return Integer.parseInt(contexto.getEnvironment().getProperty("local.server.port"));
+    }
+
+    public <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    public List<Usuario> clientes() {
+        return clientes;
+    }
+
+    public List<Automovel> automoveis() {
+        return automoveis;
+    }
+
+    @Override
+    public void close() {
+        contexto.close();
+    }
+}
@@ -0,0 +1,64 @@
+package com.projeto.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.projeto.service.TabelaAmortizacao;
+
+/**
+ * Cronograma de 360 parcelas: motor primitivo (callback com doubles) contra a montagem de uma lista de
+ * parcelas com campos Double, e os totais em forma fechada usados no resumo da carteira.
+ * Para ver a alocação por operação: mvn -Pbenchmark -DskipTests verify -Djmh.filtro="Cronograma.* -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CronogramaBenchmark {
+
+    record ParcelaEncaixotada(Integer numero, Double parcela, Double juros, Double amortizacao, Double saldo) {
+    }
+
+    @Param({"PRICE", "SAC"})
+    public TabelaAmortizacao.Sistema sistema;
+
+    @Param({"360"})
+    public int prazo;
+
+    private final double valor = 250_000;
+    private final double taxa = 0.95;
+
+    private double soma;
+    private TabelaAmortizacao.ConsumidorParcela acumulador;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        acumulador = (n, parcela, juros, amortizacao, saldo) -> soma += parcela + saldo;
+    }
+
+    @Benchmark
+    public double primitivo() {
+        soma = 0;
+        TabelaAmortizacao.gerar(sistema, valor, prazo, taxa, acumulador);
+        return soma;
+    }
+
+    @Benchmark
+    public List<ParcelaEncaixotada> listaEncaixotada() {
+        List<ParcelaEncaixotada> parcelas = new ArrayList<>(prazo);
+        TabelaAmortizacao.gerar(sistema, valor, prazo, taxa,
+            (n, parcela, juros, amortizacao, saldo) -> parcelas.add(new ParcelaEncaixotada(n, parcela, juros, amortizacao, saldo)));
+        return parcelas;
+    }
+
+    @Benchmark
+    public double totaisFormaFechada() {
+        return TabelaAmortizacao.totalJuros(sistema, valor, prazo, taxa)
+            + TabelaAmortizacao.primeiraParcela(sistema, valor, prazo, taxa);
+    }
+}
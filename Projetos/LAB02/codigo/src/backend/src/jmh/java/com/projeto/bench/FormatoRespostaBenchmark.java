@@ -0,0 +1,89 @@
+package com.projeto.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.repository.PedidoRepository;
+
+/**
+ * Custo de CPU por resposta de 10k linhas em cada formato negociável (JSON, CBOR, Smile), sem e com gzip, usando os
+ * mappers dos conversores HTTP da aplicação. A lista é a de entidades (GET /pedidos/cliente/{id}) ou a projeção
+ * (/resumo). Os bytes de cada combinação, que o JMH não mede, são impressos no setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatoRespostaBenchmark {
+
+    @Param({"10000"})
+    public int tamanhoLista;
+
+    @Param({"entidades", "resumo"})
+    public String lista;
+
+    @Param({"json", "cbor", "smile"})
+    public String formato;
+
+    @Param({"nenhuma", "gzip"})
+    public String compressao;
+
+    private ContextoBenchmark contexto;
+    private ObjectMapper mapper;
+    private List<?> corpo;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws Exception {
+        contexto = ContextoBenchmark.iniciar(200, 200, tamanhoLista);
+        PedidoRepository pedidoRepository = contexto.bean(PedidoRepository.class);
+        corpo = "resumo".equals(lista)
+            ? pedidoRepository.findResumoAposId(0L, Limit.of(tamanhoLista))
+            : pedidoRepository.findPaginaAposId(0L, Limit.of(tamanhoLista));
+        mapper = mapper(formato);
+
+        StringBuilder tamanhos = new StringBuilder();
+        for (String f : List.of("json", "cbor", "smile")) {
+            ObjectMapper m = mapper(f);
+            tamanhos.append(String.format(" %s=%d/%d", f, escrever(m, false).size(), escrever(m, true).size()));
+        }
+        System.out.printf("%n[payload] %d %s (bytes sem/com gzip):%s%n", corpo.size(), lista, tamanhos);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public int resposta() throws Exception {
+        return escrever(mapper, "gzip".equals(compressao)).size();
+    }
+
+    private ByteArrayOutputStream escrever(ObjectMapper m, boolean gzip) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        // o Tomcat comprime com o Deflater no nível padrão, como o GZIPOutputStream
+        try (OutputStream saida = gzip ? new GZIPOutputStream(bytes, 8192) : bytes) {
+            m.writeValue(saida, corpo);
+        }
+        return bytes;
+    }
+
+    private ObjectMapper mapper(String f) {
+        return switch (f) {
+            case "cbor" -> contexto.bean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper();
+            case "smile" -> contexto.bean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper();
+            default -> contexto.bean(ObjectMapper.class);
+        };
+    }
+}
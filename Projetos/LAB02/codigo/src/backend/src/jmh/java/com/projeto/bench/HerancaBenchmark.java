@@ -0,0 +1,114 @@
+package com.projeto.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.projeto.model.Agente;
+import com.projeto.model.Cliente;
+import com.projeto.model.Usuario;
+import com.projeto.repository.UsuarioRepository;
+
+/**
+ * Mapeamento JOINED (padrão) contra o de tabela única (profile tabela-unica) com um milhão de usuários: busca
+ * polimórfica por id, como a de PedidoService.salvar e RendimentoService.salvar, e inserção de cliente e de agente.
+ * A massa é gravada por JDBC em lotes (10% agentes, 90% clientes), no layout de tabelas de cada estratégia.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class HerancaBenchmark {
+
+    private static final int LOTE = 10_000;
+
+    @Param({"joined", "tabela-unica"})
+    public String estrategia;
+
+    @Param({"1000000"})
+    public int usuarios;
+
+    private ContextoBenchmark contexto;
+    private UsuarioRepository usuarioRepository;
+    private final AtomicLong sequencia = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = "tabela-unica".equals(estrategia)
+            ? ContextoBenchmark.iniciar(0, 0, 0, "spring.profiles.active=tabela-unica")
+            : ContextoBenchmark.iniciar(0, 0, 0);
+        usuarioRepository = contexto.bean(UsuarioRepository.class);
+        long inicio = System.nanoTime();
+        semear(contexto.bean(JdbcTemplate.class));
+        System.out.printf("%n[massa] %d usuários (%s) em %d ms%n", usuarios, estrategia,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Usuario buscarPorId() {
+        return usuarioRepository.findById(ThreadLocalRandom.current().nextLong(1, usuarios + 1)).orElseThrow();
+    }
+
+    @Benchmark
+    public Usuario inserirCliente() {
+        Cliente c = new Cliente();
+        preencher(c, Usuario.TipoUsuario.Cliente);
+        return usuarioRepository.save(c);
+    }
+
+    @Benchmark
+    public Usuario inserirAgente() {
+        Agente a = new Agente();
+        preencher(a, Usuario.TipoUsuario.Agente);
+        a.setNomeAgente("Locadora bench");
+        a.setTipoAgente(Agente.TipoAgente.Empresa);
+        return usuarioRepository.save(a);
+    }
+
+    private void preencher(Usuario u, Usuario.TipoUsuario tipo) {
+        u.setNome("Novo");
+        u.setCpf("N" + sequencia.incrementAndGet());
+        u.setTipoUsuario(tipo);
+    }
+
+    private void semear(JdbcTemplate jdbc) {
+        boolean tabelaUnica = "tabela-unica".equals(estrategia);
+        String usuario = tabelaUnica
+            ? "insert into usuario (id, nome, cpf, tipo_usuario, tipo_entidade, nome_agente, tipo_agente) values (?, ?, ?, ?, ?, ?, ?)"
+            : "insert into usuario (id, nome, cpf, tipo_usuario) values (?, ?, ?, ?)";
+        for (int inicio = 1; inicio <= usuarios; inicio += LOTE) {
+            List<Object[]> linhas = new ArrayList<>(LOTE);
+            List<Object[]> agentes = new ArrayList<>();
+            List<Object[]> clientes = new ArrayList<>();
+            for (long id = inicio; id < inicio + LOTE && id <= usuarios; id++) {
+                boolean agente = id % 10 == 0;
+                String tipo = agente ? "Agente" : "Cliente";
+                if (tabelaUnica) {
+                    linhas.add(new Object[] {id, "Usuário " + id, ContextoBenchmark.cpf((int) id), tipo, tipo,
+                        agente ? "Agente " + id : null, agente ? "Banco" : null});
+                } else {
+                    linhas.add(new Object[] {id, "Usuário " + id, ContextoBenchmark.cpf((int) id), tipo});
+                    if (agente) agentes.add(new Object[] {id, "Agente " + id, "Banco"});
+                    else clientes.add(new Object[] {id});
+                }
+            }
+            jdbc.batchUpdate(usuario, linhas);
+            if (!agentes.isEmpty()) jdbc.batchUpdate("insert into agente (id, nome_agente, tipo_agente) values (?, ?, ?)", agentes);
+            if (!clientes.isEmpty()) jdbc.batchUpdate("insert into cliente (id) values (?)", clientes);
+        }
+        // ids gravados explicitamente: a identity continua depois deles
+        jdbc.execute("alter table usuario alter column id restart with " + (usuarios + 1));
+    }
+}
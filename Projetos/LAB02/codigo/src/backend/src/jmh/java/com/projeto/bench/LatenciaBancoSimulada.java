@@ -0,0 +1,28 @@
+package com.projeto.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Atrasa cada comando SQL para imitar a ida e volta de rede até um banco real; o H2 em memória
+ * responde em microssegundos e esconderia o tempo que a thread da requisição passa bloqueada.
+ * Registrado via hibernate.session_factory.statement_inspector; roda com a conexão já obtida.
+ */
+public class LatenciaBancoSimulada implements StatementInspector {
+
+    static volatile long latenciaMillis;
+
+    @Override
+    public String inspect(String sql) {
+        long atraso = latenciaMillis;
+        if (atraso > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(atraso);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return sql;
+    }
+}
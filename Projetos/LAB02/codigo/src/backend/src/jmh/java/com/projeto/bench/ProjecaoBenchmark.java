@@ -0,0 +1,92 @@
+package com.projeto.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.dto.PedidoResumo;
+import com.projeto.dto.UsuarioResumo;
+import com.projeto.model.Pedido;
+import com.projeto.model.Usuario;
+import com.projeto.repository.PedidoRepository;
+import com.projeto.repository.UsuarioRepository;
+
+/**
+ * Listagens com entidades (Pedido com cliente, automóvel e proprietário; Usuario completo) contra as projeções em
+ * record usadas por /pedidos/resumo e /usuarios/resumo: só serialização, e consulta + serialização.
+ * O tamanho de cada payload é impresso no setup, pois o JMH mede apenas tempo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjecaoBenchmark {
+
+    @Param({"100"})
+    public int tamanhoLista;
+
+    private ContextoBenchmark contexto;
+    private ObjectMapper objectMapper;
+    private PedidoRepository pedidoRepository;
+    private UsuarioRepository usuarioRepository;
+    private List<Pedido> pedidos;
+    private List<PedidoResumo> pedidosResumo;
+    private List<Usuario> usuarios;
+    private List<UsuarioResumo> usuariosResumo;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws Exception {
+        contexto = ContextoBenchmark.iniciar(tamanhoLista, tamanhoLista, tamanhoLista);
+        objectMapper = contexto.bean(ObjectMapper.class);
+        pedidoRepository = contexto.bean(PedidoRepository.class);
+        usuarioRepository = contexto.bean(UsuarioRepository.class);
+        pedidos = pedidoRepository.findAll();
+        pedidosResumo = pedidoRepository.findResumoAposId(0L, Limit.of(tamanhoLista));
+        usuarios = usuarioRepository.findAll();
+        usuariosResumo = usuarioRepository.findResumoAposId(0L, Limit.of(tamanhoLista));
+
+        System.out.printf("%n[payload] pedidos: entidades=%d bytes, resumo=%d bytes | usuarios: entidades=%d bytes, resumo=%d bytes%n",
+            objectMapper.writeValueAsBytes(pedidos).length, objectMapper.writeValueAsBytes(pedidosResumo).length,
+            objectMapper.writeValueAsBytes(usuarios).length, objectMapper.writeValueAsBytes(usuariosResumo).length);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public byte[] pedidosEntidades() throws Exception {
+        return objectMapper.writeValueAsBytes(pedidos);
+    }
+
+    @Benchmark
+    public byte[] pedidosResumo() throws Exception {
+        return objectMapper.writeValueAsBytes(pedidosResumo);
+    }
+
+    @Benchmark
+    public byte[] usuariosEntidades() throws Exception {
+        return objectMapper.writeValueAsBytes(usuarios);
+    }
+
+    @Benchmark
+    public byte[] usuariosResumo() throws Exception {
+        return objectMapper.writeValueAsBytes(usuariosResumo);
+    }
+
+    @Benchmark
+    public byte[] consultaPedidosEntidades() throws Exception {
+        return objectMapper.writeValueAsBytes(pedidoRepository.findPaginaAposId(0L, Limit.of(tamanhoLista)));
+    }
+
+    @Benchmark
+    public byte[] consultaPedidosResumo() throws Exception {
+        return objectMapper.writeValueAsBytes(pedidoRepository.findResumoAposId(0L, Limit.of(tamanhoLista)));
+    }
+}
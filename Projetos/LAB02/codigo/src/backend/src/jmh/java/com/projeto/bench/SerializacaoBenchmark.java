@@ -0,0 +1,62 @@
+package com.projeto.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.model.Pedido;
+import com.projeto.model.Usuario;
+import com.projeto.repository.PedidoRepository;
+import com.projeto.repository.UsuarioRepository;
+
+/**
+ * Serialização Jackson (com o ObjectMapper configurado pelo Spring) dos grafos carregados do H2.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacaoBenchmark {
+
+    @Param({"100"})
+    public int tamanhoLista;
+
+    private ContextoBenchmark contexto;
+    private ObjectMapper objectMapper;
+    private Pedido pedido;
+    private Usuario usuario;
+    private List<Pedido> pedidos;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar(200, 200, tamanhoLista);
+        objectMapper = contexto.bean(ObjectMapper.class);
+        pedidos = contexto.bean(PedidoRepository.class).findAll();
+        pedido = pedidos.get(0);
+        usuario = contexto.bean(UsuarioRepository.class).findById(pedido.getCliente().getId()).orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public byte[] pedido() throws Exception {
+        return objectMapper.writeValueAsBytes(pedido);
+    }
+
+    @Benchmark
+    public byte[] usuario() throws Exception {
+        return objectMapper.writeValueAsBytes(usuario);
+    }
+
+    @Benchmark
+    public byte[] listaDePedidos() throws Exception {
+        return objectMapper.writeValueAsBytes(pedidos);
+    }
+}
@@ -0,0 +1,59 @@
+package com.projeto.bench;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.projeto.model.Automovel;
+import com.projeto.model.Pedido;
+import com.projeto.model.Usuario;
+import com.projeto.service.PedidoService;
+import com.projeto.service.UsuarioService;
+
+/**
+ * Caminhos quentes dos serviços contra o H2 semeado: criação de pedido e login por CPF/senha.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServicosBenchmark {
+
+    private static final int CLIENTES = 1_000;
+    private static final int AUTOMOVEIS = 500;
+
+    private ContextoBenchmark contexto;
+    private PedidoService pedidoService;
+    private UsuarioService usuarioService;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar(CLIENTES, AUTOMOVEIS, 5_000);
+        pedidoService = contexto.bean(PedidoService.class);
+        usuarioService = contexto.bean(UsuarioService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Pedido pedidoServiceSalvar() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        Usuario cliente = new Usuario();
+        cliente.setId(contexto.clientes().get(r.nextInt(CLIENTES)).getId());
+        Automovel automovel = new Automovel();
+        automovel.setId(contexto.automoveis().get(r.nextInt(AUTOMOVEIS)).getId());
+        return pedidoService.salvar(new Pedido(cliente, automovel, null, null));
+    }
+
+    @Benchmark
+    public Object usuarioServiceBuscarPorCpfESenha() {
+        String cpf = ContextoBenchmark.cpf(ThreadLocalRandom.current().nextInt(CLIENTES));
+        return usuarioService.buscarPorCpfESenha(cpf, ContextoBenchmark.SENHA);
+    }
+}
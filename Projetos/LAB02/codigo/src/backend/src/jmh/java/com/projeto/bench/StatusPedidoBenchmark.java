@@ -0,0 +1,24 @@
+package com.projeto.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.projeto.model.Pedido;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatusPedidoBenchmark {
+
+    @Param({"PENDENTE", "Em análise", "aprovado", " CANCELADO "})
+    public String valor;
+
+    @Benchmark
+    public Pedido.StatusPedido fromString() {
+        return Pedido.StatusPedido.fromString(valor);
+    }
+}
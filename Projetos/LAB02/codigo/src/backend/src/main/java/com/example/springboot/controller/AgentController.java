@@ -2,8 +2,8 @@ package com.example.springboot.controller;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,39 +23,37 @@ import com.example.springboot.store.DataStore;
 @CrossOrigin(origins = {"http://localhost:8080"})
 public class AgentController {
 
+    @Autowired
+    private DataStore dataStore;
+
     @GetMapping("/pedidos/pendentes")
     public List<Pedido> pendentes() {
-        return DataStore.pedidos.values().stream()
-                .filter(p -> "pendente".equalsIgnoreCase(p.getStatus()))
-                .collect(Collectors.toList());
+        return dataStore.pedidosPorStatus("pendente");
     }
 
     @PostMapping("/avaliar/{id}")
     public ResponseEntity<Pedido> avaliar(@PathVariable String id, @RequestParam("acao") String acao) {
-        Pedido p = DataStore.pedidos.get(id);
-        if (p == null) return ResponseEntity.notFound().build();
-        if ("aprovar".equalsIgnoreCase(acao)) p.setStatus("aprovado");
-        else if ("reprovar".equalsIgnoreCase(acao)) p.setStatus("reprovado");
-        return ResponseEntity.ok(p);
+        String status;
+        if ("aprovar".equalsIgnoreCase(acao)) status = "aprovado";
+        else if ("reprovar".equalsIgnoreCase(acao)) status = "reprovado";
+        else return ResponseEntity.of(dataStore.pedidos().buscar(id));
+        return ResponseEntity.of(dataStore.pedidos().atualizar(id, p -> p.comStatus(status)));
     }
 
     @GetMapping("/veiculos")
     public List<Veiculo> veiculos() {
-        return DataStore.veiculos.values().stream().toList();
+        return dataStore.veiculos().listar();
     }
 
     @PostMapping("/veiculos")
     public Veiculo criarVeiculo(@RequestBody Map<String,Object> body) {
-        String id = "CAR-" + (int)(Math.random()*900 + 100);
-        Veiculo v = new Veiculo(
+        return dataStore.veiculos().inserir(id -> new Veiculo(
                 id,
                 (String) body.getOrDefault("modelo","Modelo"),
                 (String) body.getOrDefault("placa","ABC1D23"),
                 ((Number) body.getOrDefault("ano",2024)).intValue(),
                 (String) body.getOrDefault("cor","Prata"),
                 ((Number) body.getOrDefault("diaria",100)).doubleValue()
-        );
-        DataStore.veiculos.put(id,v);
-        return v;
+        ));
     }
 }
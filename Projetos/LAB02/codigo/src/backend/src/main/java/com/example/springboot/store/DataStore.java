@@ -1,23 +1,47 @@
 package com.example.springboot.store;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.stereotype.Component;
 
 import com.example.springboot.model.Pedido;
 import com.example.springboot.model.Veiculo;
 
+@Component
 public class DataStore {
-    public static final Map<String, Pedido> pedidos = new ConcurrentHashMap<>();
-    public static final Map<String, Veiculo> veiculos = new ConcurrentHashMap<>();
-
-    static {
-        // Seed pedidos
-        pedidos.put("PED-001", new Pedido("PED-001","Honda Civic 2023","Cliente A","pendente","2024-01-15","R$ 150/dia"));
-        pedidos.put("PED-002", new Pedido("PED-002","Toyota Corolla 2022","Cliente B","aprovado","2024-01-10","R$ 120/dia"));
-        pedidos.put("PED-003", new Pedido("PED-003","Hyundai HB20 2023","Cliente C","ativo","2024-01-05","R$ 90/dia"));
-
-        // Seed veiculos
-        veiculos.put("CAR-001", new Veiculo("CAR-001","Honda Civic 2023","ABC1D23",2023,"Azul",150.0));
-        veiculos.put("CAR-002", new Veiculo("CAR-002","Toyota Corolla 2022","EFG4H56",2022,"Prata",120.0));
+    private final RepositorioMemoria<Pedido> pedidos = new RepositorioMemoria<>(new GeradorIds("PED"), DataStore::chaveStatus);
+    private final RepositorioMemoria<Veiculo> veiculos = new RepositorioMemoria<>(new GeradorIds("CAR"));
+
+    public DataStore() {
+        // Seed pedidos (PED-001..003)
+        pedidos.inserir(id -> new Pedido(id,"Honda Civic 2023","Cliente A","pendente","2024-01-15","R$ 150/dia"));
+        pedidos.inserir(id -> new Pedido(id,"Toyota Corolla 2022","Cliente B","aprovado","2024-01-10","R$ 120/dia"));
+        pedidos.inserir(id -> new Pedido(id,"Hyundai HB20 2023","Cliente C","ativo","2024-01-05","R$ 90/dia"));
+
+        // Seed veiculos (CAR-001..002)
+        veiculos.inserir(id -> new Veiculo(id,"Honda Civic 2023","ABC1D23",2023,"Azul",150.0));
+        veiculos.inserir(id -> new Veiculo(id,"Toyota Corolla 2022","EFG4H56",2022,"Prata",120.0));
+    }
+
+    public RepositorioMemoria<Pedido> pedidos() {
+        return pedidos;
+    }
+
+    public RepositorioMemoria<Veiculo> veiculos() {
+        return veiculos;
+    }
+
+    public List<Pedido> pedidosPorStatus(String status) {
+        return pedidos.buscarPorIndice(normalizar(status));
+    }
+
+    // Índice ignora maiúsculas/minúsculas, como a comparação anterior com equalsIgnoreCase
+    private static String chaveStatus(Pedido p) {
+        return normalizar(p.status());
+    }
+
+    private static String normalizar(String status) {
+        return status == null ? "" : status.toLowerCase(Locale.ROOT);
     }
 }
@@ -0,0 +1,21 @@
+package com.example.springboot.store;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera ids sequenciais no formato PREFIXO-001, PREFIXO-002, ... sem repetição,
+ * mesmo sob concorrência (incremento atômico, sem lock).
+ */
+public class GeradorIds {
+
+    private final String prefixo;
+    private final AtomicLong sequencia = new AtomicLong();
+
+    public GeradorIds(String prefixo) {
+        this.prefixo = prefixo;
+    }
+
+    public String proximo() {
+        return String.format("%s-%03d", prefixo, sequencia.incrementAndGet());
+    }
+}
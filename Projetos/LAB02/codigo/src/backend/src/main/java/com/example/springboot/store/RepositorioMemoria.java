@@ -0,0 +1,130 @@
+package com.example.springboot.store;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Repositório em memória de objetos imutáveis, seguro para acesso concorrente sem locks explícitos.
+ *
+ * - Ids vêm de um {@link GeradorIds}: nunca colidem nem sobrescrevem entradas existentes.
+ * - Atualizações são compare-and-set: a função recebe o valor atual e é reaplicada se outro
+ *   escritor trocou o valor no meio do caminho, então nenhuma atualização se perde.
+ * - O índice secundário (ex.: por status) guarda a versão de cada entrada; quem consulta confere
+ *   contra o valor atual, e entradas velhas deixadas por escritores concorrentes são descartadas.
+ * O ConcurrentHashMap já particiona internamente o mapa, então leituras não bloqueiam e escritas
+ * em chaves diferentes não disputam o mesmo lock.
+ */
+public class RepositorioMemoria<T> {
+
+    // Cada gravação ganha uma versão nova; o compare-and-set e o índice comparam por ela
+    private record Registro<T>(long versao, T valor) {
+    }
+
+    private final GeradorIds ids;
+    private final Function<T, String> chaveIndice;
+    private final AtomicLong versoes = new AtomicLong();
+    private final ConcurrentHashMap<String, Registro<T>> dados = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Registro<T>>> indice = new ConcurrentHashMap<>();
+
+    /**
+     * @param chaveIndice extrai a chave do índice secundário (nula = sem índice); deve ser normalizada
+     */
+    public RepositorioMemoria(GeradorIds ids, Function<T, String> chaveIndice) {
+        this.ids = ids;
+        this.chaveIndice = chaveIndice;
+    }
+
+    public RepositorioMemoria(GeradorIds ids) {
+        this(ids, null);
+    }
+
+    // Gera o id e constrói o objeto com ele
+    public T inserir(Function<String, T> fabrica) {
+        String id = ids.proximo();
+        Registro<T> novo = new Registro<>(versoes.incrementAndGet(), fabrica.apply(id));
+        if (dados.putIfAbsent(id, novo) != null) {
+            throw new IllegalStateException("id duplicado: " + id);
+        }
+        indexar(id, novo);
+        return novo.valor();
+    }
+
+    public Optional<T> buscar(String id) {
+        Registro<T> r = dados.get(id);
+        return r == null ? Optional.empty() : Optional.of(r.valor());
+    }
+
+    public List<T> listar() {
+        List<T> lista = new ArrayList<>(dados.size());
+        for (Registro<T> r : dados.values()) lista.add(r.valor());
+        return lista;
+    }
+
+    public int tamanho() {
+        return dados.size();
+    }
+
+    /**
+     * Aplica a alteração com compare-and-set, repetindo enquanto houver conflito.
+     * A função pode ser chamada mais de uma vez e não deve ter efeitos colaterais.
+     */
+    public Optional<T> atualizar(String id, UnaryOperator<T> alteracao) {
+        while (true) {
+            Registro<T> atual = dados.get(id);
+            if (atual == null) return Optional.empty();
+            Registro<T> novo = new Registro<>(versoes.incrementAndGet(), alteracao.apply(atual.valor()));
+            if (dados.replace(id, atual, novo)) {
+                indexar(id, novo);
+                desindexar(id, atual);
+                return Optional.of(novo.valor());
+            }
+        }
+    }
+
+    public boolean remover(String id) {
+        Registro<T> atual = dados.remove(id);
+        if (atual == null) return false;
+        desindexar(id, atual);
+        return true;
+    }
+
+    /** Valores cuja chave de índice é igual a `chave`, conferidos contra o estado atual. */
+    public List<T> buscarPorIndice(String chave) {
+        if (chaveIndice == null) throw new IllegalStateException("repositório sem índice secundário");
+        Map<String, Registro<T>> ids = indice.get(chave);
+        if (ids == null) return List.of();
+        List<T> lista = new ArrayList<>();
+        for (Map.Entry<String, Registro<T>> e : ids.entrySet()) {
+            Registro<T> atual = dados.get(e.getKey());
+            if (atual != null && chave.equals(chaveIndice.apply(atual.valor()))) {
+                lista.add(atual.valor());
+            }
+            if (atual != e.getValue()) {
+                // Entrada velha: remove só se ninguém a substituiu por uma versão mais nova
+                ids.remove(e.getKey(), e.getValue());
+            }
+        }
+        return lista;
+    }
+
+    private void indexar(String id, Registro<T> registro) {
+        if (chaveIndice == null) return;
+        String chave = Objects.requireNonNull(chaveIndice.apply(registro.valor()), "chave de índice nula");
+        // Um escritor atrasado não pode sobrescrever uma versão mais nova já indexada
+        indice.computeIfAbsent(chave, k -> new ConcurrentHashMap<>())
+            .merge(id, registro, (existente, novo) -> novo.versao() > existente.versao() ? novo : existente);
+    }
+
+    private void desindexar(String id, Registro<T> registro) {
+        if (chaveIndice == null) return;
+        Map<String, Registro<T>> ids = indice.get(chaveIndice.apply(registro.valor()));
+        if (ids != null) ids.remove(id, registro);
+    }
+}
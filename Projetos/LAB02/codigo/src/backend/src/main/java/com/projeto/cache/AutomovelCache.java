@@ -0,0 +1,122 @@
+package com.projeto.cache;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.projeto.config.Transacoes;
+import com.projeto.model.Automovel;
+
+/**
+ * Cache LRU do catálogo de automóveis, indexado por id, placa e matrícula.
+ * Armazena e devolve cópias, para que quem altera o objeto retornado não corrompa o cache.
+ */
+@Component
+public class AutomovelCache {
+
+    private final LruCache<Long, Automovel> porId;
+    private final LruCache<String, Long> porPlaca;
+    private final LruCache<String, Long> porMatricula;
+
+    // Incrementada a cada invalidação; impede que uma leitura iniciada antes de uma escrita repovoe o cache com dado antigo
+    private final AtomicLong geracao = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public AutomovelCache(@Value("${automovel.cache.max-entries:5000}") int maxEntradas) {
+        this.porId = new LruCache<>(maxEntradas);
+        this.porPlaca = new LruCache<>(maxEntradas);
+        this.porMatricula = new LruCache<>(maxEntradas);
+    }
+
+    public long geracao() {
+        return geracao.get();
+    }
+
+    public Automovel buscarPorId(Long id) {
+        Automovel a = porId.get(id);
+        return a != null ? copia(a) : null;
+    }
+
+    public Long idPorPlaca(String placa) {
+        return porPlaca.get(placa);
+    }
+
+    public Long idPorMatricula(String matricula) {
+        return porMatricula.get(matricula);
+    }
+
+    // Só guarda se nenhuma invalidação ocorreu desde que a leitura no banco começou
+    public void guardar(Automovel automovel, long geracaoDaLeitura) {
+        if (automovel == null || automovel.getId() == null) return;
+        lock.lock();
+        try {
+            if (geracao.get() != geracaoDaLeitura) return;
+            porId.put(automovel.getId(), copia(automovel));
+            if (automovel.getPlaca() != null) porPlaca.put(automovel.getPlaca(), automovel.getId());
+            if (automovel.getMatricula() != null) porMatricula.put(automovel.getMatricula(), automovel.getId());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidar(Long id) {
+        lock.lock();
+        try {
+            geracao.incrementAndGet();
+            porId.invalidate(id);
+            porPlaca.invalidateIf(id::equals);
+            porMatricula.invalidateIf(id::equals);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Automóveis removidos em cascata com o proprietário (remoção de usuário, cliente ou agente)
+    public void invalidarDoProprietario(Long proprietarioId) {
+        if (proprietarioId == null) return;
+        lock.lock();
+        try {
+            geracao.incrementAndGet();
+            Set<Long> removidos = new HashSet<>();
+            porId.invalidateIf(a -> {
+                boolean doProprietario = a.getProprietario() != null && proprietarioId.equals(a.getProprietario().getId());
+                if (doProprietario) removidos.add(a.getId());
+                return doProprietario;
+            });
+            porPlaca.invalidateIf(removidos::contains);
+            porMatricula.invalidateIf(removidos::contains);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Após o commit, para uma leitura concorrente não repovoar o cache com o automóvel ainda não removido
+    public void invalidarDoProprietarioAposCommit(Long proprietarioId) {
+        Transacoes.aposCommit(() -> invalidarDoProprietario(proprietarioId));
+    }
+
+    public List<CacheEstatisticas> estatisticas() {
+        return caches().entrySet().stream().map(e -> CacheEstatisticas.de(e.getKey(), e.getValue())).toList();
+    }
+
+    public Map<String, LruCache<?, ?>> caches() {
+        Map<String, LruCache<?, ?>> caches = new LinkedHashMap<>();
+        caches.put("automoveis", porId);
+        caches.put("automoveis.placa", porPlaca);
+        caches.put("automoveis.matricula", porMatricula);
+        return caches;
+    }
+
+    private static Automovel copia(Automovel a) {
+        Automovel c = new Automovel(a.getPlaca(), a.getMatricula(), a.getAno(), a.getMarca(), a.getModelo(), a.getProprietario());
+        c.setId(a.getId());
+        return c;
+    }
+}
@@ -0,0 +1,9 @@
+package com.projeto.cache;
+
+// Números de um cache para dimensionamento em produção
+public record CacheEstatisticas(String nome, int tamanho, int capacidade, long acertos, long falhas, long remocoes) {
+
+    public static CacheEstatisticas de(String nome, LruCache<?, ?> cache) {
+        return new CacheEstatisticas(nome, cache.size(), cache.capacidade(), cache.acertos(), cache.falhas(), cache.remocoes());
+    }
+}
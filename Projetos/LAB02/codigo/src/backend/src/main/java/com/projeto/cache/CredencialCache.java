@@ -0,0 +1,87 @@
+package com.projeto.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.projeto.config.Transacoes;
+import com.projeto.model.Usuario;
+
+/**
+ * Cache CPF -> credencial usado pelo login. Guarda o hash da senha e um retrato
+ * já serializável do usuário, para que logins repetidos não consultem o banco.
+ */
+@Component
+public class CredencialCache {
+
+    public record Credencial(Long id, String hash, Usuario.TipoUsuario tipoUsuario, Map<String, Object> perfil) {
+    }
+
+    private final LruCache<String, Credencial> cache;
+
+    // Mesmo esquema do AutomovelCache: um login que leu o usuário antes de uma troca de senha não repovoa o cache
+    // com o hash antigo depois da invalidação
+    private final AtomicLong geracao = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public CredencialCache(@Value("${login.cache.max-entries:10000}") int maxEntradas,
+                           @Value("${login.cache.ttl:10m}") Duration ttl) {
+        this.cache = new LruCache<>(maxEntradas, ttl);
+    }
+
+    public long geracao() {
+        return geracao.get();
+    }
+
+    public Credencial buscar(String cpf) {
+        return cache.get(cpf);
+    }
+
+    // Só guarda se nenhuma invalidação ocorreu desde que a leitura no banco começou
+    public void guardar(String cpf, Credencial credencial, long geracaoDaLeitura) {
+        lock.lock();
+        try {
+            if (geracao.get() == geracaoDaLeitura) cache.put(cpf, credencial);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidar(String cpf) {
+        lock.lock();
+        try {
+            geracao.incrementAndGet();
+            cache.invalidate(cpf);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Dentro de uma transação, remove só após o commit para um login concorrente não recarregar o valor antigo
+    public void invalidarAposCommit(String cpf) {
+        Transacoes.aposCommit(() -> invalidar(cpf));
+    }
+
+    public void invalidarPorId(Long id) {
+        if (id == null) return;
+        lock.lock();
+        try {
+            geracao.incrementAndGet();
+            cache.invalidateIf(c -> id.equals(c.id()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public CacheEstatisticas estatisticas() {
+        return CacheEstatisticas.de("credenciais", cache);
+    }
+
+    public Map<String, LruCache<?, ?>> caches() {
+        return Map.of("credenciais", cache);
+    }
+}
@@ -0,0 +1,130 @@
+package com.projeto.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Cache em memória limitado por quantidade de entradas (LRU) e, opcionalmente, por tempo de vida.
+ * Usa um LinkedHashMap em ordem de acesso protegido por lock; as operações são O(1).
+ * O lock é um ReentrantLock (e não synchronized) para que a disputa não prenda a thread portadora
+ * quando o backend roda com virtual threads.
+ */
+public class LruCache<K, V> {
+
+    private record Entrada<V>(V valor, long expiraEm) {
+    }
+
+    private final int capacidade;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entrada<V>> mapa;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+
+    public LruCache(int capacidade, Duration ttl) {
+        if (capacidade <= 0) throw new IllegalArgumentException("capacidade deve ser positiva");
+        this.capacidade = capacidade;
+        this.ttlNanos = ttl == null || ttl.isZero() || ttl.isNegative() ? 0L : ttl.toNanos();
+        this.mapa = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> eldest) {
+                if (size() > LruCache.this.capacidade) {
+                    remocoes.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public LruCache(int capacidade) {
+        this(capacidade, null);
+    }
+
+    public V get(K chave) {
+        lock.lock();
+        try {
+            Entrada<V> e = mapa.get(chave);
+            if (e == null) {
+                falhas.increment();
+                return null;
+            }
+            if (expirada(e)) {
+                mapa.remove(chave);
+                remocoes.increment();
+                falhas.increment();
+                return null;
+            }
+            acertos.increment();
+            return e.valor();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(K chave, V valor) {
+        long expiraEm = ttlNanos > 0 ? System.nanoTime() + ttlNanos : 0L;
+        lock.lock();
+        try {
+            mapa.put(chave, new Entrada<>(valor, expiraEm));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K chave) {
+        if (chave == null) return;
+        lock.lock();
+        try {
+            mapa.remove(chave);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateIf(Predicate<V> condicao) {
+        lock.lock();
+        try {
+            Iterator<Entrada<V>> it = mapa.values().iterator();
+            while (it.hasNext()) {
+                if (condicao.test(it.next().valor())) it.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            mapa.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return mapa.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int capacidade() { return capacidade; }
+    public long acertos() { return acertos.sum(); }
+    public long falhas() { return falhas.sum(); }
+    public long remocoes() { return remocoes.sum(); }
+
+    private boolean expirada(Entrada<V> e) {
+        return ttlNanos > 0 && System.nanoTime() - e.expiraEm() > 0;
+    }
+}
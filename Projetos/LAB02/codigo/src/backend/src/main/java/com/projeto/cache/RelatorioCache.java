@@ -0,0 +1,83 @@
+package com.projeto.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache dos relatórios por janela de tempo: a chave inclui o início da janela atual, então todos os
+ * dashboards veem o mesmo retrato até a virada e o próximo acesso recalcula (sem invalidação por escrita).
+ * Acessos simultâneos a uma chave ausente esperam um único cálculo, para a virada não disparar uma rajada
+ * de GROUP BY iguais.
+ */
+@Component
+public class RelatorioCache {
+
+    private final LruCache<String, Object> cache;
+    private final Map<String, CompletableFuture<Object>> emCalculo = new ConcurrentHashMap<>();
+    private final long janelaMillis;
+    private final Clock clock;
+
+    public RelatorioCache(@Value("${relatorio.cache.max-entries:500}") int maxEntradas,
+                          @Value("${relatorio.cache.janela:5m}") Duration janela) {
+        this.janelaMillis = janela.toMillis();
+        this.clock = Clock.systemUTC();
+        // o TTL só libera a memória de janelas passadas; a virada em si é dada pela chave
+        this.cache = new LruCache<>(maxEntradas, janela);
+    }
+
+    /** Início da janela atual. */
+    public Instant janelaAtual() {
+        long agora = clock.millis();
+        return Instant.ofEpochMilli(agora - agora % janelaMillis);
+    }
+
+    /** Quanto falta para a próxima janela (usado como max-age das respostas). */
+    public Duration restanteDaJanela() {
+        return Duration.ofMillis(janelaMillis - clock.millis() % janelaMillis);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T obter(String relatorio, Supplier<T> calculo) {
+        String chave = relatorio + "@" + janelaAtual().toEpochMilli();
+        Object valor = cache.get(chave);
+        if (valor != null) return (T) valor;
+
+        CompletableFuture<Object> novo = new CompletableFuture<>();
+        CompletableFuture<Object> existente = emCalculo.putIfAbsent(chave, novo);
+        if (existente != null) {
+            try {
+                return (T) existente.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
+        try {
+            T calculado = calculo.get();
+            cache.put(chave, calculado);
+            novo.complete(calculado);
+            return calculado;
+        } catch (RuntimeException e) {
+            novo.completeExceptionally(e);
+            throw e;
+        } finally {
+            emCalculo.remove(chave, novo);
+        }
+    }
+
+    public CacheEstatisticas estatisticas() {
+        return CacheEstatisticas.de("relatorios", cache);
+    }
+
+    public Map<String, LruCache<?, ?>> caches() {
+        return Map.of("relatorios", cache);
+    }
+}
@@ -0,0 +1,86 @@
+package com.projeto.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.projeto.config.Transacoes;
+import com.projeto.dto.AvaliacaoCredito;
+
+/**
+ * Memoização da avaliação de crédito por cliente. É invalidada quando os rendimentos do cliente mudam
+ * (ou algum contrato muda); o tempo de vida cobre contratos que vencem sem nenhuma escrita.
+ */
+@Component
+public class ScoreCreditoCache {
+
+    private final LruCache<Long, AvaliacaoCredito> cache;
+
+    // Mesmo esquema do AutomovelCache: um cálculo iniciado antes de uma invalidação não repovoa o cache
+    private final AtomicLong geracao = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public ScoreCreditoCache(@Value("${credito.score.cache.max-entries:10000}") int maxEntradas,
+                             @Value("${credito.score.cache.ttl:10m}") Duration ttl) {
+        this.cache = new LruCache<>(maxEntradas, ttl);
+    }
+
+    public long geracao() {
+        return geracao.get();
+    }
+
+    public AvaliacaoCredito buscar(Long clienteId) {
+        return cache.get(clienteId);
+    }
+
+    public void guardar(AvaliacaoCredito avaliacao, long geracaoDaLeitura) {
+        lock.lock();
+        try {
+            if (geracao.get() == geracaoDaLeitura) cache.put(avaliacao.clienteId(), avaliacao);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidar(Long clienteId) {
+        if (clienteId == null) return;
+        lock.lock();
+        try {
+            geracao.incrementAndGet();
+            cache.invalidate(clienteId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidarTodos() {
+        lock.lock();
+        try {
+            geracao.incrementAndGet();
+            cache.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Dentro de uma transação, remove só após o commit para um cálculo concorrente não guardar o valor antigo
+    public void invalidarAposCommit(Long clienteId) {
+        Transacoes.aposCommit(() -> invalidar(clienteId));
+    }
+
+    public void invalidarTodosAposCommit() {
+        Transacoes.aposCommit(this::invalidarTodos);
+    }
+
+    public CacheEstatisticas estatisticas() {
+        return CacheEstatisticas.de("score-credito", cache);
+    }
+
+    public Map<String, LruCache<?, ?>> caches() {
+        return Map.of("score-credito", cache);
+    }
+}
@@ -0,0 +1,54 @@
+package com.projeto.cache;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.projeto.config.Transacoes;
+
+/**
+ * Contador de alterações por tabela, incrementado pelos métodos de escrita dos serviços, usado como ETag dos GETs
+ * consultados por polling: se a tag enviada pelo cliente ainda é a atual, o controller responde 304 sem ir ao banco.
+ *
+ * Dentro de uma transação o contador sobe antes do commit e de novo ao fim dela: uma leitura concorrente com a
+ * escrita nunca fica com a tag final, então não há 304 para dados anteriores ao commit. O prefixo aleatório por
+ * processo invalida as tags emitidas antes de um reinício (os contadores recomeçam do zero).
+ */
+@Component
+public class VersaoTabelas {
+
+    public enum Tabela {
+        USUARIO,
+        AUTOMOVEL,
+        PEDIDO,
+        CREDITO
+    }
+
+    private final Map<Tabela, AtomicLong> versoes = new EnumMap<>(Tabela.class);
+    private final String instancia = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    public VersaoTabelas() {
+        for (Tabela t : Tabela.values()) versoes.put(t, new AtomicLong());
+    }
+
+    public void alterada(Tabela... tabelas) {
+        Transacoes.antesEAoFimDoCommit(() -> incrementar(tabelas));
+    }
+
+    /**
+     * ETag fraca (W/"...") do recurso, a partir das versões das tabelas de que o corpo depende. Fraca porque a mesma
+     * versão sai em bytes diferentes conforme Accept e Accept-Encoding (o Tomcat não comprime respostas com tag forte).
+     */
+    public String etag(String recurso, Tabela... tabelas) {
+        StringBuilder sb = new StringBuilder(32).append("W/\"").append(recurso).append(':').append(instancia);
+        for (Tabela t : tabelas) sb.append('.').append(versoes.get(t).get());
+        return sb.append('"').toString();
+    }
+
+    private void incrementar(Tabela... tabelas) {
+        for (Tabela t : tabelas) versoes.get(t).incrementAndGet();
+    }
+}
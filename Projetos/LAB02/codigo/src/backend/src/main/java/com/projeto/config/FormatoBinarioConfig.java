@@ -0,0 +1,30 @@
+package com.projeto.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * CBOR e Smile como alternativas ao JSON, escolhidas pelo cliente com "Accept: application/cbor" ou
+ * "Accept: application/x-jackson-smile". Os mappers saem do mesmo Jackson2ObjectMapperBuilder do Spring Boot,
+ * então anotações, módulos e spring.jackson.* valem igual ao JSON. Os conversores substituem os padrões do
+ * Spring MVC na mesma posição (depois do JSON), de modo que Accept ausente ou genérico continua recebendo JSON.
+ */
+@Configuration
+public class FormatoBinarioConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter conversorCbor(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.createXmlMapper(false).factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter conversorSmile(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.createXmlMapper(false).factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,202 @@
+package com.projeto.config;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projeto.model.Agente;
+import com.projeto.model.Automovel;
+import com.projeto.model.Cliente;
+import com.projeto.model.Contrato;
+import com.projeto.model.Credito;
+import com.projeto.model.Pedido;
+import com.projeto.model.Rendimento;
+import com.projeto.model.Usuario;
+import com.projeto.service.SenhaService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Gerador de massa de dados para testes de carga (profile "carga").
+ * Insere agentes, clientes, rendimentos, automóveis, pedidos, contratos e créditos em lotes,
+ * cada lote em sua própria transação. CPFs e senha são determinísticos para o driver de carga conseguir logar.
+ */
+@Configuration
+@Profile("carga")
+public class GeradorDadosCarga {
+
+    private static final Logger log = LoggerFactory.getLogger(GeradorDadosCarga.class);
+
+    public static final String SENHA_PADRAO = "senha123";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${gerador.clientes:1000}")
+    private int qtdClientes;
+    @Value("${gerador.agentes:20}")
+    private int qtdAgentes;
+    @Value("${gerador.automoveis:500}")
+    private int qtdAutomoveis;
+    @Value("${gerador.pedidos:5000}")
+    private int qtdPedidos;
+    @Value("${gerador.contratos:1000}")
+    private int qtdContratos;
+    @Value("${gerador.creditos:200}")
+    private int qtdCreditos;
+    @Value("${gerador.rendimentos-por-cliente:2}")
+    private int rendimentosPorCliente;
+    @Value("${gerador.lote:500}")
+    private int tamanhoLote;
+    @Value("${gerador.semente:42}")
+    private long semente;
+
+    public static String cpfCliente(int i) {
+        return String.format("9%010d", i);
+    }
+
+    public static String cpfAgente(int i) {
+        return String.format("8%010d", i);
+    }
+
+    @Bean
+    CommandLineRunner gerarDadosCarga(TransactionTemplate transactionTemplate, SenhaService senhaService) {
+        return args -> {
+            long inicio = System.nanoTime();
+            Random random = new Random(semente);
+            // BCrypt é caro: um único hash compartilhado por todos os usuários gerados
+            String hash = senhaService.gerarHash(SENHA_PADRAO);
+
+            List<Long> agentes = inserir(transactionTemplate, qtdAgentes, i -> {
+                Agente a = new Agente();
+                preencherUsuario(a, "Agente " + i, cpfAgente(i), hash, Usuario.TipoUsuario.Agente);
+                a.setNomeAgente((i % 2 == 0 ? "Banco " : "Locadora ") + i);
+                a.setTipoAgente(i % 2 == 0 ? Agente.TipoAgente.Banco : Agente.TipoAgente.Empresa);
+                return a;
+            }, a -> ((Agente) a).getId());
+
+            List<Long> clientes = inserir(transactionTemplate, qtdClientes, i -> {
+                Cliente c = new Cliente();
+                preencherUsuario(c, "Cliente " + i, cpfCliente(i), hash, Usuario.TipoUsuario.Cliente);
+                return c;
+            }, c -> ((Cliente) c).getId());
+
+            int rendimentos = clientes.size() * Math.max(0, Math.min(rendimentosPorCliente, 3));
+            inserir(transactionTemplate, rendimentos, i -> new Rendimento(1_500.0 + random.nextInt(15_000),
+                "Empregador " + random.nextInt(200), ref(Usuario.class, clientes.get(i % clientes.size()))), r -> null);
+
+            List<Long> automoveis = inserir(transactionTemplate, qtdAutomoveis, i -> new Automovel(
+                String.format("CRG%05d", i), String.format("MC%06d", i), 2010 + random.nextInt(15),
+                "Marca " + random.nextInt(12), "Modelo " + random.nextInt(60),
+                agentes.isEmpty() ? null : ref(Usuario.class, agentes.get(i % agentes.size()))),
+                a -> ((Automovel) a).getId());
+
+            Pedido.StatusPedido[] status = Pedido.StatusPedido.values();
+            List<Long> aprovados = new ArrayList<>();
+            List<Long> automoveisAprovados = new ArrayList<>();
+            List<Long> pedidos = inserir(transactionTemplate, qtdPedidos, i -> new Pedido(
+                ref(Usuario.class, clientes.get(random.nextInt(clientes.size()))),
+                ref(Automovel.class, automoveis.get(random.nextInt(automoveis.size()))),
+                status[random.nextInt(status.length)], diasAtras(random.nextInt(365))),
+                p -> {
+                    Pedido pedido = (Pedido) p;
+                    if (pedido.getStatus() == Pedido.StatusPedido.Aprovado) {
+                        aprovados.add(pedido.getId());
+                        automoveisAprovados.add(pedido.getAutomovel().getId());
+                    }
+                    return pedido.getId();
+                });
+
+            // Contratos só para pedidos aprovados (pedido é @OneToOne no contrato), no automóvel do próprio pedido.
+            // Períodos do mesmo automóvel não se sobrepõem (datas inclusivas): cada um começa depois do fim do anterior
+            int contratos = Math.min(qtdContratos, aprovados.size());
+            Map<Long, Date> livreAPartirDe = new HashMap<>();
+            inserir(transactionTemplate, contratos, i -> {
+                Long automovelId = automoveisAprovados.get(i);
+                Date dataInicio = diasAtras(random.nextInt(365));
+                Date livre = livreAPartirDe.get(automovelId);
+                if (livre != null && livre.after(dataInicio)) dataInicio = livre;
+                Calendar fim = Calendar.getInstance();
+                fim.setTime(dataInicio);
+                fim.add(Calendar.DAY_OF_MONTH, 1 + random.nextInt(30));
+                Date dataFim = fim.getTime();
+                fim.add(Calendar.DAY_OF_MONTH, 1);
+                livreAPartirDe.put(automovelId, fim.getTime());
+                return new Contrato(ref(Pedido.class, aprovados.get(i)),
+                    Contrato.TipoContrato.values()[random.nextInt(Contrato.TipoContrato.values().length)],
+                    100.0 + random.nextInt(5_000), dataInicio, dataFim, ref(Automovel.class, automovelId));
+            }, c -> null);
+
+            List<Long> bancos = new ArrayList<>();
+            for (int i = 0; i < agentes.size(); i += 2) bancos.add(agentes.get(i));
+            inserir(transactionTemplate, bancos.isEmpty() ? 0 : qtdCreditos, i -> new Credito(
+                ref(Agente.class, bancos.get(i % bancos.size())), 5_000.0 + random.nextInt(200_000),
+                12 * (1 + random.nextInt(5)), 0.5 + random.nextInt(30) / 10.0), c -> null);
+
+            log.info("[CARGA] Gerados {} agentes, {} clientes, {} rendimentos, {} automóveis, {} pedidos, {} contratos, {} créditos em {} ms",
+                agentes.size(), clientes.size(), rendimentos, automoveis.size(), pedidos.size(), contratos,
+                bancos.isEmpty() ? 0 : qtdCreditos, (System.nanoTime() - inicio) / 1_000_000);
+        };
+    }
+
+    // Persiste 'quantidade' entidades em transações de 'tamanhoLote', limpando o contexto entre lotes
+    private <T> List<Long> inserir(TransactionTemplate tx, int quantidade, IntFunction<T> fabrica,
+                                   Function<Object, Long> id) {
+        List<Long> ids = new ArrayList<>(quantidade);
+        for (int inicio = 0; inicio < quantidade; inicio += tamanhoLote) {
+            int de = inicio;
+            int ate = Math.min(quantidade, inicio + tamanhoLote);
+            tx.executeWithoutResult(status -> {
+                List<T> lote = new ArrayList<>(ate - de);
+                for (int i = de; i < ate; i++) {
+                    T entidade = fabrica.apply(i);
+                    entityManager.persist(entidade);
+                    lote.add(entidade);
+                }
+                entityManager.flush();
+                for (T entidade : lote) {
+                    Long valor = id.apply(entidade);
+                    if (valor != null) ids.add(valor);
+                }
+                entityManager.clear();
+            });
+        }
+        return ids;
+    }
+
+    private <T> T ref(Class<T> tipo, Long id) {
+        return entityManager.getReference(tipo, id);
+    }
+
+    private static void preencherUsuario(Usuario u, String nome, String cpf, String hash, Usuario.TipoUsuario tipo) {
+        u.setNome(nome);
+        u.setCpf(cpf);
+        u.setRg("RG-" + cpf.substring(5));
+        u.setEndereco("Rua Carga, " + cpf.substring(7));
+        u.setProfissao("Profissão de carga");
+        u.setSenha(hash);
+        u.setTipoUsuario(tipo);
+    }
+
+    private static Date diasAtras(int dias) {
+        Calendar c = Calendar.getInstance();
+        c.add(Calendar.DAY_OF_MONTH, -dias);
+        return c.getTime();
+    }
+}
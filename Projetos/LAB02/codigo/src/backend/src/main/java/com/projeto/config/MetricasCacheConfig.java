@@ -0,0 +1,39 @@
+package com.projeto.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.projeto.cache.AutomovelCache;
+import com.projeto.cache.CredencialCache;
+import com.projeto.cache.LruCache;
+import com.projeto.cache.RelatorioCache;
+import com.projeto.cache.ScoreCreditoCache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Publica os contadores dos caches em memória com os nomes padrão do Micrometer (cache.gets, cache.evictions, cache.size)
+@Configuration
+public class MetricasCacheConfig {
+
+    @Bean
+    MeterBinder metricasCaches(CredencialCache credencialCache, AutomovelCache automovelCache, ScoreCreditoCache scoreCreditoCache,
+                               RelatorioCache relatorioCache) {
+        return registry -> {
+            Map<String, LruCache<?, ?>> caches = new LinkedHashMap<>(credencialCache.caches());
+            caches.putAll(automovelCache.caches());
+            caches.putAll(scoreCreditoCache.caches());
+            caches.putAll(relatorioCache.caches());
+            caches.forEach((nome, cache) -> {
+                FunctionCounter.builder("cache.gets", cache, LruCache::acertos).tag("cache", nome).tag("result", "hit").register(registry);
+                FunctionCounter.builder("cache.gets", cache, LruCache::falhas).tag("cache", nome).tag("result", "miss").register(registry);
+                FunctionCounter.builder("cache.evictions", cache, LruCache::remocoes).tag("cache", nome).register(registry);
+                Gauge.builder("cache.size", cache, LruCache::size).tag("cache", nome).register(registry);
+            });
+        };
+    }
+}
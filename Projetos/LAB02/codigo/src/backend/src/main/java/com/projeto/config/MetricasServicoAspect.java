@@ -0,0 +1,57 @@
+package com.projeto.config;
+
+import java.util.concurrent.CompletionStage;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timer "servico.metodo" para todo método público de com.projeto.service, com tags classe, metodo e excecao.
+ * Complementa o http.server.requests que o actuator já registra por endpoint dos controllers.
+ */
+@Aspect
+@Component
+public class MetricasServicoAspect {
+
+    private final MeterRegistry registry;
+
+    public MetricasServicoAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // within(): só classes do pacote de serviços (não implementações externas de interfaces de lá)
+    @Around("within(com.projeto.service..*) && execution(public * *(..))")
+    public Object medir(ProceedingJoinPoint pjp) throws Throwable {
+        Timer.Sample amostra = Timer.start(registry);
+        String classe = pjp.getSignature().getDeclaringType().getSimpleName();
+        String metodo = pjp.getSignature().getName();
+        Object resultado;
+        try {
+            resultado = pjp.proceed();
+        } catch (Throwable t) {
+            parar(amostra, classe, metodo, t);
+            throw t;
+        }
+        // Métodos assíncronos (ex.: login) são medidos até a conclusão do future
+        if (resultado instanceof CompletionStage<?> etapa) {
+            etapa.whenComplete((r, t) -> parar(amostra, classe, metodo, t));
+        } else {
+            parar(amostra, classe, metodo, null);
+        }
+        return resultado;
+    }
+
+    private void parar(Timer.Sample amostra, String classe, String metodo, Throwable erro) {
+        amostra.stop(Timer.builder("servico.metodo")
+            .description("Tempo de execução dos métodos da camada de serviço")
+            .tag("classe", classe)
+            .tag("metodo", metodo)
+            .tag("excecao", erro == null ? "none" : erro.getClass().getSimpleName())
+            .register(registry));
+    }
+}
@@ -0,0 +1,23 @@
+package com.projeto.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.projeto.repository.EventoOutboxRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Habilita o @Scheduled do DespachanteOutbox (drenagem do outbox e limpeza dos eventos já processados)
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+
+    // Atraso do pipeline: eventos ainda não entregues (consulta pelo idx_outbox_pendentes a cada coleta)
+    @Bean
+    MeterBinder metricasOutbox(EventoOutboxRepository eventoOutboxRepository) {
+        return registry -> Gauge.builder("outbox.pendentes", eventoOutboxRepository, EventoOutboxRepository::contarPendentes)
+            .register(registry);
+    }
+}
@@ -0,0 +1,16 @@
+package com.projeto.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Configuration
+public class SenhaConfig {
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${login.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+}
@@ -0,0 +1,54 @@
+package com.projeto.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.projeto.model.Contrato;
+import com.projeto.model.Pedido;
+
+/**
+ * Migração de Pedido.id e Contrato.id de IDENTITY para as sequences pedido_seq e contrato_seq: bancos existentes
+ * já têm ids, então a sequence precisa começar acima do maior id. Só avança, nunca retrocede.
+ *
+ * Roda antes do EntityManagerFactory (ver TabelaUnicaConfig), para nenhum insert pegar ids da sequence ainda não
+ * ajustada; como o ddl-auto ainda não rodou, a sequence é criada aqui com o mesmo incremento do @SequenceGenerator.
+ * Banco sem a tabela fica todo para o ddl-auto.
+ */
+@Configuration
+@Profile("postgres")
+public class SequenciasConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SequenciasConfig.class);
+
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor entityManagerFactoryDependeDasSequencias() {
+        return new EntityManagerFactoryDependsOnPostProcessor("ajustarSequencias");
+    }
+
+    @Bean
+    InitializingBean ajustarSequencias(JdbcTemplate jdbcTemplate) {
+        return () -> {
+            ajustar(jdbcTemplate, "pedido", "pedido_seq", Pedido.ALOCACAO_IDS);
+            ajustar(jdbcTemplate, "contrato", "contrato_seq", Contrato.ALOCACAO_IDS);
+        };
+    }
+
+    private void ajustar(JdbcTemplate jdbcTemplate, String tabela, String sequence, int alocacao) {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, tabela))) return;
+        jdbcTemplate.execute("create sequence if not exists " + sequence + " start with 1 increment by " + alocacao);
+        Long maiorId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + tabela, Long.class);
+        Long atual = jdbcTemplate.queryForObject("select last_value from " + sequence, Long.class);
+        // o otimizador pooled trata o valor lido como o topo do bloco, por isso soma o tamanho da alocação
+        long minimo = maiorId + alocacao;
+        if (atual < minimo) {
+            jdbcTemplate.queryForObject("select setval('" + sequence + "', ?)", Long.class, minimo);
+            log.info("[Migração] {} avançada de {} para {} (max(id)={})", sequence, atual, minimo, maiorId);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.projeto.config;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Migração de bancos criados com o mapeamento JOINED para o de tabela única (META-INF/orm-tabela-unica.xml).
+ * As colunas da hierarquia (tipo_entidade, nome_agente, tipo_agente) são criadas aqui, preenchidas a partir de agente
+ * e cliente, e tipo_entidade só então vira NOT NULL (o ddl-auto não cria NOT NULL numa tabela com linhas). As chaves
+ * estrangeiras que apontam para agente/cliente (credito.banco, cliente_entidadeempregadora.idcliente) são removidas,
+ * já que usuários novos só existem em usuario.
+ *
+ * Roda na criação do contexto, antes do EntityManagerFactory (e do ddl-auto), como o Flyway faz no Boot: nenhuma
+ * sessão do Hibernate nem requisição chega a ver usuario sem o discriminador. Banco vazio fica para o ddl-auto; nos
+ * demais só mexe em linhas com tipo_entidade nulo, então pode rodar a cada subida. As tabelas antigas ficam como
+ * estavam, para conferência; podem ser apagadas depois.
+ */
+@Configuration
+@Profile("tabela-unica")
+public class TabelaUnicaConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(TabelaUnicaConfig.class);
+
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor entityManagerFactoryDependeDaMigracao() {
+        return new EntityManagerFactoryDependsOnPostProcessor("migrarParaTabelaUnica");
+    }
+
+    @Bean
+    InitializingBean migrarParaTabelaUnica(JdbcTemplate jdbcTemplate) {
+        return () -> {
+            if (!existeTabela(jdbcTemplate, "usuario")) return;
+            jdbcTemplate.execute("alter table usuario add column if not exists tipo_entidade varchar(16)");
+            jdbcTemplate.execute("alter table usuario add column if not exists nome_agente varchar(255)");
+            jdbcTemplate.execute("alter table usuario add column if not exists tipo_agente varchar(255)");
+            int agentes = 0;
+            int clientes = 0;
+            if (existeTabela(jdbcTemplate, "agente")) {
+                removerChavesEstrangeiras(jdbcTemplate, "agente");
+                agentes = jdbcTemplate.update("update usuario set tipo_entidade = 'Agente',"
+                    + " nome_agente = (select a.nome_agente from agente a where a.id = usuario.id),"
+                    + " tipo_agente = (select a.tipo_agente from agente a where a.id = usuario.id)"
+                    + " where tipo_entidade is null and id in (select id from agente)");
+            }
+            if (existeTabela(jdbcTemplate, "cliente")) {
+                removerChavesEstrangeiras(jdbcTemplate, "cliente");
+                clientes = jdbcTemplate.update("update usuario set tipo_entidade = 'Cliente'"
+                    + " where tipo_entidade is null and id in (select id from cliente)");
+            }
+            // linhas só de usuario (cadastradas por /usuarios) ou anteriores a qualquer subclasse
+            int usuarios = jdbcTemplate.update("update usuario set tipo_entidade = 'Usuario' where tipo_entidade is null");
+            jdbcTemplate.execute("alter table usuario alter column tipo_entidade set not null");
+            if (agentes + clientes + usuarios > 0) {
+                log.info("[Migração] tabela única: {} agentes, {} clientes e {} usuários classificados", agentes, clientes, usuarios);
+            }
+        };
+    }
+
+    private boolean existeTabela(JdbcTemplate jdbcTemplate, String tabela) {
+        return jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> {
+            DatabaseMetaData md = con.getMetaData();
+            try (ResultSet rs = md.getTables(con.getCatalog(), con.getSchema(), identificador(md, tabela), new String[] {"TABLE"})) {
+                return rs.next();
+            }
+        });
+    }
+
+    private void removerChavesEstrangeiras(JdbcTemplate jdbcTemplate, String tabelaReferenciada) {
+        // nomes gerados pelo Hibernate (FK + hash), por isso lidos do catálogo em vez de fixos
+        List<String[]> chaves = jdbcTemplate.execute((ConnectionCallback<List<String[]>>) con -> {
+            DatabaseMetaData md = con.getMetaData();
+            List<String[]> encontradas = new ArrayList<>();
+            try (ResultSet rs = md.getExportedKeys(con.getCatalog(), con.getSchema(), identificador(md, tabelaReferenciada))) {
+                while (rs.next()) encontradas.add(new String[] {rs.getString("FKTABLE_NAME"), rs.getString("FK_NAME")});
+            }
+            return encontradas;
+        });
+        for (String[] chave : chaves) {
+            jdbcTemplate.execute("alter table " + chave[0] + " drop constraint " + chave[1]);
+            log.info("[Migração] tabela única: removida a chave {} de {} para {}", chave[1], chave[0], tabelaReferenciada);
+        }
+    }
+
+    private static String identificador(DatabaseMetaData md, String nome) throws SQLException {
+        return md.storesUpperCaseIdentifiers() ? nome.toUpperCase() : nome;
+    }
+}
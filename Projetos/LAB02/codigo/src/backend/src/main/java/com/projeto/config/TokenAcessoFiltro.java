@@ -0,0 +1,77 @@
+package com.projeto.config;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.projeto.service.TokenService;
+import com.projeto.service.TokenService.Sessao;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Valida o "Authorization: Bearer <token>" de cada requisição só com o HMAC do TokenService (sem banco) e deixa
+ * a sessão no atributo ATRIBUTO_SESSAO para os controllers. Token inválido, expirado ou revogado recebe 401.
+ * Sem token a requisição segue anônima, a menos que auth.token.obrigatorio=true (login, cadastro, actuator e
+ * console H2 continuam livres).
+ */
+@Component
+public class TokenAcessoFiltro extends OncePerRequestFilter {
+
+    public static final String ATRIBUTO_SESSAO = "sessao";
+
+    private static final String PREFIXO = "Bearer ";
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Value("${auth.token.obrigatorio:false}")
+    private boolean obrigatorio;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, PREFIXO, 0, PREFIXO.length())) {
+            Optional<Sessao> sessao = tokenService.verificar(header.substring(PREFIXO.length()).trim());
+            if (sessao.isEmpty()) {
+                negar(response, "Token inválido, expirado ou revogado", "TOKEN_INVALIDO");
+                return;
+            }
+            request.setAttribute(ATRIBUTO_SESSAO, sessao.get());
+        } else if (obrigatorio && !publico(request)) {
+            negar(response, "Token de acesso ausente", "TOKEN_AUSENTE");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private static boolean publico(HttpServletRequest request) {
+        String metodo = request.getMethod();
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        if ("OPTIONS".equals(metodo)) return true;
+        if ("POST".equals(metodo) && (caminho.equals("/usuarios/login") || caminho.equals("/usuarios")
+                || caminho.equals("/clientes") || caminho.equals("/agentes"))) {
+            return true;
+        }
+        return caminho.startsWith("/actuator") || caminho.startsWith("/h2-console") || caminho.equals("/error");
+    }
+
+    // Mesmo formato de corpo de erro dos controllers (erro + code)
+    private static void negar(HttpServletResponse response, String erro, String code) throws IOException {
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"erro\":\"" + erro + "\",\"code\":\"" + code + "\"}");
+    }
+}
@@ -0,0 +1,50 @@
+package com.projeto.config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Ações amarradas ao fim da transação corrente (invalidação de caches, contadores, eventos), usadas pelos serviços
+ * e caches no lugar de registrar TransactionSynchronization à mão. Sem transação ativa a ação roda na hora.
+ */
+public final class Transacoes {
+
+    private Transacoes() {
+    }
+
+    /** Executa após o commit; num rollback a ação é descartada. */
+    public static void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+    /**
+     * Executa antes do commit e de novo ao fim da transação (commit ou rollback): quem observa o efeito durante a
+     * janela do commit nunca fica com o valor final. Sem transação, executa uma vez.
+     */
+    public static void antesEAoFimDoCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                acao.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                acao.run();
+            }
+        });
+    }
+}
@@ -1,8 +1,12 @@
 package com.projeto.controller;
 
+import com.projeto.cache.VersaoTabelas;
+import com.projeto.cache.VersaoTabelas.Tabela;
+import com.projeto.dto.AgenteResumo;
 import com.projeto.model.Agente;
 import com.projeto.service.AgenteService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
@@ -15,16 +19,27 @@ public class AgenteController {
     @Autowired
     private AgenteService agenteService;
 
+    @Autowired
+    private VersaoTabelas versaoTabelas;
+
     @PostMapping
     public ResponseEntity<Agente> criarAgente(@RequestBody Agente agente) {
         Agente novoAgente = agenteService.salvar(agente);
         return ResponseEntity.ok(novoAgente);
     }
 
+    // O corpo embute os créditos de cada agente, então a tag acompanha usuários e créditos
     @GetMapping
-    public ResponseEntity<List<Agente>> listarTodos() {
-        List<Agente> agentes = agenteService.listarTodos();
-        return ResponseEntity.ok(agentes);
+    public ResponseEntity<List<Agente>> listarTodos(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return RespostaCondicional.responder(ifNoneMatch, versaoTabelas.etag("agentes", Tabela.USUARIO, Tabela.CREDITO),
+            () -> ResponseEntity.ok(agenteService.listarTodos()));
+    }
+
+    // Listagem do dashboard: dados do agente e totais da carteira, sem a lista de créditos
+    @GetMapping("/resumo")
+    public ResponseEntity<List<AgenteResumo>> listarResumo(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return RespostaCondicional.responder(ifNoneMatch, versaoTabelas.etag("agentes-resumo", Tabela.USUARIO, Tabela.CREDITO),
+            () -> ResponseEntity.ok(agenteService.listarResumo()));
     }
 
     @GetMapping("/{id}")
@@ -3,7 +3,10 @@ package com.projeto.controller;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -24,4 +27,22 @@ public class ApiExceptionHandler {
         body.put("detalhe", message);
         return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
     }
-}
\ No newline at end of file
+
+    // @Version divergente no flush: outra requisição alterou o registro entre a leitura e a escrita
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String,Object>> handleOptimisticLock(ObjectOptimisticLockingFailureException ex) {
+        Map<String,Object> body = new HashMap<>();
+        body.put("erro", "Registro alterado por outra requisição; recarregue e tente novamente");
+        body.put("detalhe", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    // Fila do pool de hash (login.hash.queue-capacity) cheia: o cliente deve tentar de novo em instantes
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Map<String,Object>> handleTaskRejected(TaskRejectedException ex) {
+        Map<String,Object> body = new HashMap<>();
+        body.put("erro", "Servidor sobrecarregado; tente novamente em instantes");
+        body.put("code", "SOBRECARGA");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(body);
+    }
+}
@@ -1,11 +1,18 @@
 package com.projeto.controller;
 
+import com.projeto.cache.VersaoTabelas;
+import com.projeto.cache.VersaoTabelas.Tabela;
 import com.projeto.model.Automovel;
 import com.projeto.service.AutomovelService;
+import com.projeto.service.DisponibilidadeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -16,6 +23,12 @@ public class AutomovelController {
     @Autowired
     private AutomovelService automovelService;
 
+    @Autowired
+    private DisponibilidadeService disponibilidadeService;
+
+    @Autowired
+    private VersaoTabelas versaoTabelas;
+
     @PostMapping
     public ResponseEntity<Automovel> criarAutomovel(@RequestBody Automovel automovel) {
         Automovel novoAutomovel = automovelService.salvar(automovel);
@@ -23,9 +36,23 @@ public class AutomovelController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Automovel>> listarTodos() {
-        List<Automovel> automoveis = automovelService.listarTodos();
-        return ResponseEntity.ok(automoveis);
+    public ResponseEntity<List<Automovel>> listarTodos(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return RespostaCondicional.responder(ifNoneMatch, versaoTabelas.etag("automoveis", Tabela.AUTOMOVEL),
+            () -> ResponseEntity.ok(automovelService.listarTodos()));
+    }
+
+    // Automóveis sem contrato no período (datas ISO, inclusivas)
+    @GetMapping("/disponiveis")
+    public ResponseEntity<List<Automovel>> listarDisponiveis(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date inicio,
+                                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date fim) {
+        return ResponseEntity.ok(disponibilidadeService.livres(inicio, fim));
+    }
+
+    @GetMapping("/{id}/disponibilidade")
+    public ResponseEntity<Map<String, Boolean>> disponibilidade(@PathVariable Long id,
+                                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date inicio,
+                                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) Date fim) {
+        return ResponseEntity.ok(Map.of("livre", disponibilidadeService.estaLivre(id, inicio, fim)));
     }
 
     @GetMapping("/{id}")
@@ -35,6 +62,18 @@ public class AutomovelController {
                        .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/placa/{placa}")
+    public ResponseEntity<Automovel> buscarPorPlaca(@PathVariable String placa) {
+        return automovelService.buscarPorPlaca(placa).map(ResponseEntity::ok)
+                       .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/matricula/{matricula}")
+    public ResponseEntity<Automovel> buscarPorMatricula(@PathVariable String matricula) {
+        return automovelService.buscarPorMatricula(matricula).map(ResponseEntity::ok)
+                       .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Automovel> atualizarAutomovel(@PathVariable Long id, @RequestBody Automovel automovel) {
         Optional<Automovel> automovelAtualizado = automovelService.atualizar(id, automovel);
@@ -0,0 +1,44 @@
+package com.projeto.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.projeto.cache.AutomovelCache;
+import com.projeto.cache.CacheEstatisticas;
+import com.projeto.cache.CredencialCache;
+import com.projeto.cache.RelatorioCache;
+import com.projeto.cache.ScoreCreditoCache;
+
+@RestController
+@RequestMapping("/cache")
+public class CacheController {
+
+    @Autowired
+    private CredencialCache credencialCache;
+
+    @Autowired
+    private AutomovelCache automovelCache;
+
+    @Autowired
+    private ScoreCreditoCache scoreCreditoCache;
+
+    @Autowired
+    private RelatorioCache relatorioCache;
+
+    // Acertos, falhas e remoções de cada cache, para dimensionar max-entries em produção
+    @GetMapping("/estatisticas")
+    public ResponseEntity<List<CacheEstatisticas>> estatisticas() {
+        List<CacheEstatisticas> lista = new ArrayList<>();
+        lista.add(credencialCache.estatisticas());
+        lista.addAll(automovelCache.estatisticas());
+        lista.add(scoreCreditoCache.estatisticas());
+        lista.add(relatorioCache.estatisticas());
+        return ResponseEntity.ok(lista);
+    }
+}
@@ -2,10 +2,12 @@ package com.projeto.controller;
 
 import com.projeto.model.Contrato;
 import com.projeto.service.ContratoService;
+import com.projeto.service.GeracaoContratoService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -15,12 +17,22 @@ public class ContratoController {
     @Autowired
     private ContratoService contratoService;
 
+    @Autowired
+    private GeracaoContratoService geracaoContratoService;
+
     @PostMapping
     public ResponseEntity<Contrato> criarContrato(@RequestBody Contrato contrato) {
         Contrato novoContrato = contratoService.salvar(contrato);
         return ResponseEntity.ok(novoContrato);
     }
 
+    // Gera em lotes os contratos de todos os pedidos aprovados que ainda não têm um (idempotente)
+    @PostMapping("/gerar")
+    public ResponseEntity<Map<String, Integer>> gerarPendentes() {
+        int criados = geracaoContratoService.gerarPendentes();
+        return ResponseEntity.ok(Map.of("criados", criados));
+    }
+
     @GetMapping
     public ResponseEntity<List<Contrato>> listarTodos() {
         List<Contrato> contratos = contratoService.listarTodos();
@@ -1,10 +1,22 @@
 package com.projeto.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.dto.AvaliacaoCredito;
+import com.projeto.dto.AvaliacaoPedido;
+import com.projeto.dto.CarteiraResumo;
+import com.projeto.dto.TermosCredito;
 import com.projeto.model.Credito;
 import com.projeto.service.CreditoService;
+import com.projeto.service.ScoreCreditoService;
+import com.projeto.service.TabelaAmortizacao;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +27,12 @@ public class CreditoController {
     @Autowired
     private CreditoService creditoService;
 
+    @Autowired
+    private ScoreCreditoService scoreCreditoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     public ResponseEntity<Credito> criarCredito(@RequestBody Credito credito) {
         Credito novoCredito = creditoService.salvar(credito);
@@ -27,6 +45,90 @@ public class CreditoController {
         return ResponseEntity.ok(creditos);
     }
 
+    // Score e proposta de crédito do cliente (memorizados até os rendimentos ou contratos mudarem)
+    @GetMapping("/avaliacao/{clienteId}")
+    public ResponseEntity<AvaliacaoCredito> avaliar(@PathVariable Long clienteId) {
+        return ResponseEntity.ok(scoreCreditoService.avaliar(clienteId));
+    }
+
+    // Avaliação de todos os pedidos em análise, calculada em paralelo por blocos de clientes
+    @GetMapping("/avaliacao/pendentes")
+    public ResponseEntity<List<AvaliacaoPedido>> avaliarPendentes() {
+        return ResponseEntity.ok(scoreCreditoService.avaliarPedidosPendentes());
+    }
+
+    // Cronograma de parcelas (sistema=PRICE ou SAC), escrito direto no JSON sem montar objetos por parcela
+    @GetMapping(value = "/{id}/cronograma", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> cronograma(@PathVariable Long id,
+                                                            @RequestParam(defaultValue = "PRICE") TabelaAmortizacao.Sistema sistema) {
+        Optional<TermosCredito> termos = creditoService.buscarTermos(id);
+        if (termos.isEmpty()) return ResponseEntity.notFound().build();
+        StreamingResponseBody corpo = out -> {
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+                escreverCronograma(gen, termos.get(), sistema);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(corpo);
+    }
+
+    // Cronogramas da carteira inteira em streaming (cursor no banco, um crédito por vez)
+    @GetMapping(value = "/cronogramas/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> cronogramas(@RequestParam(defaultValue = "PRICE") TabelaAmortizacao.Sistema sistema) {
+        StreamingResponseBody corpo = out -> {
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+                gen.writeStartArray();
+                creditoService.percorrerTermos(t -> {
+                    try {
+                        escreverCronograma(gen, t, sistema);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                gen.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(corpo);
+    }
+
+    // Totais da carteira (valor, juros, total pago, primeiras parcelas, prazo e taxa médios)
+    @GetMapping("/carteira/resumo")
+    public ResponseEntity<CarteiraResumo> resumoCarteira(@RequestParam(defaultValue = "PRICE") TabelaAmortizacao.Sistema sistema) {
+        return ResponseEntity.ok(creditoService.resumirCarteira(sistema));
+    }
+
+    private static void escreverCronograma(JsonGenerator gen, TermosCredito t, TabelaAmortizacao.Sistema sistema) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("creditoId", t.id());
+        gen.writeStringField("sistema", sistema.name());
+        gen.writeNumberField("valorAprovado", t.valorAprovado());
+        gen.writeNumberField("prazoPagamento", t.prazoPagamento());
+        gen.writeNumberField("taxaJuros", t.taxaJuros());
+        gen.writeArrayFieldStart("parcelas");
+        try {
+            TabelaAmortizacao.gerar(sistema, t.valorAprovado(), t.prazoPagamento(), t.taxaJuros(), (n, parcela, juros, amortizacao, saldo) -> {
+                try {
+                    gen.writeStartObject();
+                    gen.writeNumberField("numero", n);
+                    gen.writeNumberField("parcela", centavos(parcela));
+                    gen.writeNumberField("juros", centavos(juros));
+                    gen.writeNumberField("amortizacao", centavos(amortizacao));
+                    gen.writeNumberField("saldo", centavos(saldo));
+                    gen.writeEndObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    private static double centavos(double v) {
+        return Math.round(v * 100) / 100.0;
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Credito> buscarPorId(@PathVariable Long id) {
         Optional<Credito> credito = creditoService.buscarPorId(id);
@@ -0,0 +1,32 @@
+package com.projeto.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.projeto.dto.EstatisticasDashboard;
+import com.projeto.service.EstatisticasService;
+
+@RestController
+@RequestMapping("/stats")
+public class EstatisticasController {
+
+    @Autowired
+    private EstatisticasService estatisticasService;
+
+    // Lido dos contadores em memória: nenhuma consulta ao banco por requisição
+    @GetMapping
+    public ResponseEntity<EstatisticasDashboard> resumo() {
+        return ResponseEntity.ok(estatisticasService.resumo());
+    }
+
+    // Recontagem imediata a partir das tabelas (ex.: após carga manual de dados)
+    @PostMapping("/reconciliar")
+    public ResponseEntity<EstatisticasDashboard> reconciliar() {
+        estatisticasService.reconciliar();
+        return ResponseEntity.ok(estatisticasService.resumo());
+    }
+}
@@ -1,9 +1,13 @@
 package com.projeto.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,11 +17,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.projeto.cache.VersaoTabelas;
+import com.projeto.cache.VersaoTabelas.Tabela;
+import com.projeto.dto.PedidoLoteResultado;
+import com.projeto.dto.PedidoResumo;
 import com.projeto.model.Pedido;
 import com.projeto.repository.PedidoRepository;
+import com.projeto.service.PedidoEventoService;
 import com.projeto.service.PedidoService;
 
 @RestController
@@ -31,23 +47,118 @@ public class PedidoController {
     @Autowired
     private PedidoRepository pedidoRepository;
 
+    @Autowired
+    private PedidoEventoService pedidoEventoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private VersaoTabelas versaoTabelas;
+
     @PostMapping
     public ResponseEntity<Pedido> criarPedido(@RequestBody Pedido pedido) {
         Pedido novoPedido = pedidoService.salvar(pedido);
         return ResponseEntity.ok(novoPedido);
     }
 
+    // Criação em lote para parceiros; cada item do resultado traz o id criado ou o motivo da rejeição
+    @PostMapping("/batch")
+    public ResponseEntity<List<PedidoLoteResultado>> criarPedidosEmLote(@RequestBody List<Pedido> pedidos) {
+        return ResponseEntity.ok(pedidoService.salvarLote(pedidos));
+    }
+
+    // Sem parâmetros mantém o comportamento antigo (lista completa).
+    // Com after/limit devolve uma página por cursor; X-Next-After indica o cursor da próxima página.
+    // Com status (ex.: ?status=PENDENTE) devolve sempre paginado a fila daquele status, mais antigos primeiro.
     @GetMapping
-    public ResponseEntity<List<Pedido>> listarTodos() {
-        List<Pedido> pedidos = pedidoService.listarTodos();
-        return ResponseEntity.ok(pedidos);
+    public ResponseEntity<List<Pedido>> listarTodos(@RequestParam(required = false) Long after,
+                                                    @RequestParam(required = false) Integer limit,
+                                                    @RequestParam(required = false) String status) {
+        if (status == null && after == null && limit == null) {
+            List<Pedido> pedidos = pedidoService.listarTodos();
+            return ResponseEntity.ok(pedidos);
+        }
+        List<Pedido> pagina;
+        if (status != null) {
+            Pedido.StatusPedido filtro;
+            try {
+                filtro = Pedido.StatusPedido.fromString(status);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+            pagina = pedidoService.listarPorStatus(filtro, after, limit);
+        } else {
+            pagina = pedidoService.listarPagina(after, limit);
+        }
+        ResponseEntity.BodyBuilder resp = ResponseEntity.ok();
+        if (pagina.size() == PedidoService.normalizarLimite(limit)) {
+            resp.header("X-Next-After", String.valueOf(pagina.get(pagina.size() - 1).getId()));
+        }
+        return resp.body(pagina);
     }
 
-    // Listar pedidos de um cliente específico (para dashboard do cliente)
+    // Listagem enxuta para o dashboard, paginada pelo mesmo cursor de GET /pedidos
+    @GetMapping("/resumo")
+    public ResponseEntity<List<PedidoResumo>> listarResumo(@RequestParam(required = false) Long after,
+                                                           @RequestParam(required = false) Integer limit) {
+        List<PedidoResumo> pagina = pedidoService.listarResumo(after, limit);
+        ResponseEntity.BodyBuilder resp = ResponseEntity.ok();
+        if (pagina.size() == PedidoService.normalizarLimite(limit)) {
+            resp.header("X-Next-After", String.valueOf(pagina.get(pagina.size() - 1).id()));
+        }
+        return resp.body(pagina);
+    }
+
+    // Exporta todos os pedidos como um array JSON escrito à medida que as linhas saem do cursor JDBC
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTodos() {
+        StreamingResponseBody corpo = out -> {
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+                gen.writeStartArray();
+                pedidoService.percorrerTodos(p -> {
+                    try {
+                        gen.writeObject(p);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                gen.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(corpo);
+    }
+
+    // Server-sent events de criação/mudança de status, no lugar do polling dos dashboards.
+    // Filtros opcionais: clienteId e status (pode repetir: ?status=APROVADO&status=REJEITADO).
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> eventos(@RequestParam(required = false) Long clienteId,
+                                              @RequestParam(required = false) List<String> status) {
+        java.util.Set<Pedido.StatusPedido> filtro = java.util.EnumSet.noneOf(Pedido.StatusPedido.class);
+        try {
+            if (status != null) status.forEach(s -> filtro.add(Pedido.StatusPedido.fromString(s)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(pedidoEventoService.assinar(clienteId, filtro));
+    }
+
+    // Listar pedidos de um cliente específico (para dashboard do cliente); 304 enquanto nada mudar
+    // nos pedidos, usuários ou automóveis (o corpo embute cliente e automóvel)
     @GetMapping("/cliente/{clienteId}")
-    public ResponseEntity<List<Pedido>> listarPorCliente(@PathVariable Long clienteId) {
-        List<Pedido> pedidos = pedidoRepository.findByClienteId(clienteId); // retorna lista vazia se nenhum
-        return ResponseEntity.ok(pedidos);
+    public ResponseEntity<List<Pedido>> listarPorCliente(@PathVariable Long clienteId,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = versaoTabelas.etag("pedidos-cliente-" + clienteId, Tabela.PEDIDO, Tabela.USUARIO, Tabela.AUTOMOVEL);
+        // retorna lista vazia se nenhum
+        return RespostaCondicional.responder(ifNoneMatch, etag, () -> ResponseEntity.ok(pedidoRepository.findByClienteId(clienteId)));
+    }
+
+    // Mesma lista em projeção: sem os dados pessoais do cliente nem o proprietário do automóvel
+    @GetMapping("/cliente/{clienteId}/resumo")
+    public ResponseEntity<List<PedidoResumo>> listarResumoPorCliente(@PathVariable Long clienteId,
+                                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = versaoTabelas.etag("pedidos-resumo-cliente-" + clienteId, Tabela.PEDIDO, Tabela.USUARIO, Tabela.AUTOMOVEL);
+        return RespostaCondicional.responder(ifNoneMatch, etag, () -> ResponseEntity.ok(pedidoService.listarResumoPorCliente(clienteId)));
     }
 
     @GetMapping("/{id}")
@@ -64,21 +175,18 @@ public class PedidoController {
                                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    // Atualização simplificada de status (aprovar/rejeitar/cancelar) usada pelo dashboard do agente
+    // Atualização simplificada de status (aprovar/rejeitar/cancelar) usada pelo dashboard do agente.
+    // 409 se o pedido já saiu de análise (ex.: outro agente decidiu antes).
     @PatchMapping("/{id}/status")
     public ResponseEntity<Pedido> atualizarStatus(@PathVariable Long id, @RequestBody java.util.Map<String,String> payload) {
-        String statusStr = payload.get("status");
-        Optional<Pedido> existente = pedidoService.buscarPorId(id);
-        if (existente.isEmpty()) return ResponseEntity.notFound().build();
+        Pedido.StatusPedido novo;
         try {
-            Pedido.StatusPedido novo = Pedido.StatusPedido.fromString(statusStr);
-            Pedido p = existente.get();
-            p.setStatus(novo);
-            Pedido salvo = pedidoService.salvar(p); // reutiliza validações e defaults
-            return ResponseEntity.ok(salvo);
+            novo = Pedido.StatusPedido.fromString(payload.get("status"));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
+        if (novo == null) return ResponseEntity.badRequest().build();
+        return ResponseEntity.ok(pedidoService.alterarStatus(id, novo));
     }
 
     @DeleteMapping("/{id}")
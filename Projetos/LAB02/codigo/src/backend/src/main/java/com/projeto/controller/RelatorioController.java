@@ -0,0 +1,58 @@
+package com.projeto.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.projeto.cache.RelatorioCache;
+import com.projeto.dto.AprovacaoAgente;
+import com.projeto.dto.ReceitaMensal;
+import com.projeto.dto.UtilizacaoAutomovel;
+import com.projeto.service.RelatorioService;
+
+@RestController
+@RequestMapping("/relatorios")
+public class RelatorioController {
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    @Autowired
+    private RelatorioCache relatorioCache;
+
+    @GetMapping("/receita-mensal")
+    public ResponseEntity<List<ReceitaMensal>> receitaMensal(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate) {
+        return ok(relatorioService.receitaMensal(de, ate));
+    }
+
+    @GetMapping("/aprovacao-agentes")
+    public ResponseEntity<List<AprovacaoAgente>> aprovacaoPorAgente() {
+        return ok(relatorioService.aprovacaoPorAgente());
+    }
+
+    @GetMapping("/utilizacao-automoveis")
+    public ResponseEntity<List<UtilizacaoAutomovel>> utilizacaoPorAutomovel(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(required = false) Integer limit) {
+        return ok(relatorioService.utilizacaoPorAutomovel(de, ate, limit));
+    }
+
+    // O resultado não muda até a próxima janela do cache, então o navegador/proxy pode reaproveitá-lo até lá
+    private <T> ResponseEntity<T> ok(T corpo) {
+        return ResponseEntity.ok()
+            .header("X-Relatorio-Janela", relatorioCache.janelaAtual().toString())
+            .cacheControl(CacheControl.maxAge(relatorioCache.restanteDaJanela()))
+            .body(corpo);
+    }
+}
@@ -0,0 +1,40 @@
+package com.projeto.controller;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+// GET condicional: com If-None-Match igual à tag atual devolve 304 sem executar a consulta nem serializar o corpo
+final class RespostaCondicional {
+
+    private RespostaCondicional() {
+    }
+
+    static <T> ResponseEntity<T> responder(String ifNoneMatch, String etag, Supplier<ResponseEntity<T>> resposta) {
+        if (confere(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        ResponseEntity<T> r = resposta.get();
+        if (!r.getStatusCode().is2xxSuccessful()) return r;
+        // no-cache: o navegador guarda a resposta, mas revalida com a tag a cada uso
+        return ResponseEntity.status(r.getStatusCode()).headers(r.getHeaders())
+            .eTag(etag).cacheControl(CacheControl.noCache()).body(r.getBody());
+    }
+
+    // If-None-Match pode trazer várias tags, "*", e tags fortes ou fracas (W/"..."): a comparação é a fraca
+    static boolean confere(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        String atual = semPrefixoFraco(etag);
+        for (String tag : ifNoneMatch.split(",")) {
+            String t = semPrefixoFraco(tag.trim());
+            if (t.equals("*") || t.equals(atual)) return true;
+        }
+        return false;
+    }
+
+    private static String semPrefixoFraco(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -4,8 +4,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -15,13 +17,24 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.projeto.cache.CredencialCache.Credencial;
+import com.projeto.cache.VersaoTabelas;
+import com.projeto.cache.VersaoTabelas.Tabela;
+import com.projeto.config.TokenAcessoFiltro;
+import com.projeto.dto.UsuarioResumo;
 import com.projeto.model.Rendimento;
 import com.projeto.model.Usuario;
+import com.projeto.service.PedidoService;
+import com.projeto.service.TokenService;
 import com.projeto.service.UsuarioService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 @RestController
 @RequestMapping("/usuarios")
 @CrossOrigin(origins = "*")
@@ -30,6 +43,12 @@ public class UsuarioController {
     @Autowired
     private UsuarioService usuarioService;
 
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private VersaoTabelas versaoTabelas;
+
     @PostMapping
     public ResponseEntity<?> criarUsuario(@RequestBody Usuario usuario) {
         Map<String,Object> body = new HashMap<>();
@@ -60,11 +79,27 @@ public class UsuarioController {
         }
     }
 
+    // Listagem enxuta (id, nome, tipo) paginada por cursor; X-Next-After indica o cursor da próxima página
+    @GetMapping("/resumo")
+    public ResponseEntity<List<UsuarioResumo>> listarResumo(@RequestParam(required = false) Long after,
+                                                            @RequestParam(required = false) Integer limit) {
+        List<UsuarioResumo> pagina = usuarioService.listarResumo(after, limit);
+        ResponseEntity.BodyBuilder resp = ResponseEntity.ok();
+        if (pagina.size() == PedidoService.normalizarLimite(limit)) {
+            resp.header("X-Next-After", String.valueOf(pagina.get(pagina.size() - 1).id()));
+        }
+        return resp.body(pagina);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Usuario> buscarUsuarioPorId(@PathVariable Long id) {
-        Optional<Usuario> usuario = usuarioService.buscarPorId(id);
-        return usuario.map(ResponseEntity::ok)
-                      .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<Usuario> buscarUsuarioPorId(@PathVariable Long id,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // um Agente traz os créditos no corpo
+        return RespostaCondicional.responder(ifNoneMatch, versaoTabelas.etag("usuario-" + id, Tabela.USUARIO, Tabela.CREDITO), () -> {
+            Optional<Usuario> usuario = usuarioService.buscarPorId(id);
+            return usuario.map(ResponseEntity::ok)
+                          .orElseGet(() -> ResponseEntity.notFound().build());
+        });
     }
 
     @GetMapping
@@ -105,8 +140,9 @@ public class UsuarioController {
     }
 
     // Login endpoint (adicionando corpo de erro simples + normalização de CPF)
+    // Assíncrono: a thread do Tomcat é liberada enquanto o hash da senha é verificado
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, String> loginData) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> login(@RequestBody Map<String, String> loginData) {
         String cpf = loginData.get("cpf");
         String senha = loginData.get("senha");
         if (cpf != null) cpf = cpf.replaceAll("\\D", "");
@@ -116,24 +152,36 @@ public class UsuarioController {
             err.put("erro", "Credenciais inválidas");
             err.put("detalhe", "CPF deve ter 11 dígitos e senha não pode ser vazia");
             err.put("code", "LOGIN_INVALIDO");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(err));
         }
 
-        Optional<Usuario> usuario = usuarioService.buscarPorCpfESenha(cpf, senha);
-        if (usuario.isEmpty()) {
-            Map<String,Object> err = new HashMap<>();
-            err.put("erro", "CPF ou senha incorretos");
-            err.put("code", "LOGIN_FALHA");
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(err);
-        }
+        return usuarioService.autenticar(cpf, senha).thenApply(credencial -> {
+            if (credencial.isEmpty()) {
+                Map<String,Object> err = new HashMap<>();
+                err.put("erro", "CPF ou senha incorretos");
+                err.put("code", "LOGIN_FALHA");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(err);
+            }
 
-        Map<String, Object> response = new HashMap<>();
-        Usuario u = usuario.get();
-        try { // evitar expor senha
-            u.setSenha(null);
-        } catch (Exception ignored) {}
-        response.put("usuario", u);
-        response.put("tipo", u.getTipoUsuario().toString());
-        return ResponseEntity.ok(response);
+            Map<String, Object> response = new HashMap<>();
+            Credencial c = credencial.get();
+            response.put("usuario", c.perfil()); // senha nunca é serializada
+            response.put("tipo", c.tipoUsuario().toString());
+            // enviado como "Authorization: Bearer <token>" nas próximas requisições
+            TokenService.TokenEmitido token = tokenService.emitir(c.id(), c.tipoUsuario());
+            response.put("token", token.token());
+            response.put("expiraEm", token.expiraEm().toString());
+            return ResponseEntity.ok(response);
+        });
+    }
+
+    // Revoga o token usado na requisição (os demais tokens do usuário continuam válidos)
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(HttpServletRequest request) {
+        if (!(request.getAttribute(TokenAcessoFiltro.ATRIBUTO_SESSAO) instanceof TokenService.Sessao sessao)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        tokenService.revogar(sessao);
+        return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
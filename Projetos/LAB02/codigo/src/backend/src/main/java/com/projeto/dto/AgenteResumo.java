@@ -0,0 +1,13 @@
+package com.projeto.dto;
+
+import com.projeto.model.Agente;
+
+// Agente com o total da sua carteira de créditos (no lugar da lista de créditos serializada pela entidade)
+public record AgenteResumo(Long id, String nome, String nomeAgente, Agente.TipoAgente tipoAgente, Long creditos,
+                           Double valorAprovado) {
+
+    public AgenteResumo {
+        // sum() de um agente sem créditos vem nulo
+        if (valorAprovado == null) valorAprovado = 0.0;
+    }
+}
@@ -0,0 +1,13 @@
+package com.projeto.dto;
+
+import com.projeto.model.Agente;
+
+// Decisões sobre pedidos de automóveis do agente; taxaAprovacao = aprovados / (aprovados + rejeitados)
+public record AprovacaoAgente(Long agenteId, String nomeAgente, Agente.TipoAgente tipoAgente, long pedidos,
+                              long aprovados, long rejeitados, double taxaAprovacao) {
+
+    public AprovacaoAgente(Long agenteId, String nomeAgente, Agente.TipoAgente tipoAgente, Long pedidos, Long aprovados, Long rejeitados) {
+        this(agenteId, nomeAgente, tipoAgente, pedidos, aprovados, rejeitados,
+            aprovados + rejeitados > 0 ? Math.round(10_000.0 * aprovados / (aprovados + rejeitados)) / 10_000.0 : 0);
+    }
+}
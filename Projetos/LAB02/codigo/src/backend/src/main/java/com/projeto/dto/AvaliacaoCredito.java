@@ -0,0 +1,7 @@
+package com.projeto.dto;
+
+// Resultado do score de crédito de um cliente; valorAprovado/prazoPagamento/taxaJuros são a proposta de Credito
+// (mesmos nomes da entidade, para o corpo poder ser enviado ao POST /creditos junto com o banco)
+public record AvaliacaoCredito(Long clienteId, double rendaMensal, double parcelasAtuais, double capacidadeMensal,
+                               int score, boolean aprovado, double valorAprovado, int prazoPagamento, double taxaJuros) {
+}
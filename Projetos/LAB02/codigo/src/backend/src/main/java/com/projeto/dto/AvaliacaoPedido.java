@@ -0,0 +1,5 @@
+package com.projeto.dto;
+
+// Item da avaliação em lote da fila de pedidos pendentes
+public record AvaliacaoPedido(Long pedidoId, AvaliacaoCredito avaliacao) {
+}
@@ -0,0 +1,8 @@
+package com.projeto.dto;
+
+import com.projeto.service.TabelaAmortizacao;
+
+// Agregados da carteira de créditos em um sistema de amortização; taxaMedia é ponderada pelo valor
+public record CarteiraResumo(TabelaAmortizacao.Sistema sistema, long quantidade, double valorTotal, double totalJuros,
+                             double totalPago, double primeirasParcelas, double prazoMedio, double taxaMedia) {
+}
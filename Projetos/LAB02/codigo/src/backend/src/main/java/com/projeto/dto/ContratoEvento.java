@@ -0,0 +1,14 @@
+package com.projeto.dto;
+
+import com.projeto.model.Contrato;
+
+// Payload do evento contrato.criado gravado no outbox
+public record ContratoEvento(Long id, Long pedidoId, Long automovelId, Contrato.TipoContrato tipoContrato, Double valor) {
+
+    public static ContratoEvento de(Contrato c) {
+        return new ContratoEvento(c.getId(),
+            c.getPedido() != null ? c.getPedido().getId() : null,
+            c.getAutomovel() != null ? c.getAutomovel().getId() : null,
+            c.getTipoContrato(), c.getValor());
+    }
+}
@@ -0,0 +1,5 @@
+package com.projeto.dto;
+
+// Créditos aprovados de um agente (banco) e a soma dos valores aprovados
+public record CreditoAgente(long agenteId, long creditos, double valorAprovado) {
+}
@@ -0,0 +1,10 @@
+package com.projeto.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+// Indicadores do dashboard lidos dos contadores em memória; reconciliadoEm = última recontagem a partir das tabelas
+public record EstatisticasDashboard(long pedidosPendentes, Map<String, Long> pedidosPorStatus, long contratosVigentes,
+                                    List<CreditoAgente> creditoAprovadoPorAgente, Instant reconciliadoEm) {
+}
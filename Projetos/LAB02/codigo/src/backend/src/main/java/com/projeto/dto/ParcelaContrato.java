@@ -0,0 +1,7 @@
+package com.projeto.dto;
+
+import java.util.Date;
+
+// Contrato vigente de um cliente, só com o necessário para estimar a parcela mensal
+public record ParcelaContrato(Long clienteId, Double valor, Date dataInicio, Date dataFim) {
+}
@@ -0,0 +1,5 @@
+package com.projeto.dto;
+
+// Par pedido/cliente da fila, sem carregar as entidades
+public record PedidoCliente(Long pedidoId, Long clienteId) {
+}
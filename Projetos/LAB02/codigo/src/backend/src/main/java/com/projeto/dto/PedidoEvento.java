@@ -0,0 +1,21 @@
+package com.projeto.dto;
+
+import java.time.Instant;
+
+import com.projeto.model.Pedido;
+
+// Evento enviado pelo GET /pedidos/eventos: só o necessário para o dashboard atualizar a linha sem recarregar a lista
+public record PedidoEvento(String tipo, Long id, Pedido.StatusPedido status, Long clienteId, Long automovelId,
+                           Long versao, Instant instante) {
+
+    public static final String CRIADO = "criado";
+    public static final String ATUALIZADO = "atualizado";
+    public static final String STATUS = "status";
+
+    public static PedidoEvento de(String tipo, Pedido p) {
+        return new PedidoEvento(tipo, p.getId(), p.getStatus(),
+            p.getCliente() != null ? p.getCliente().getId() : null,
+            p.getAutomovel() != null ? p.getAutomovel().getId() : null,
+            p.getVersao(), Instant.now());
+    }
+}
@@ -0,0 +1,17 @@
+package com.projeto.dto;
+
+// Resultado de um item do POST /pedidos/batch: id quando criado, erro quando rejeitado
+public record PedidoLoteResultado(int indice, Long id, String erro) {
+
+    public static PedidoLoteResultado criado(int indice, Long id) {
+        return new PedidoLoteResultado(indice, id, null);
+    }
+
+    public static PedidoLoteResultado falha(int indice, String erro) {
+        return new PedidoLoteResultado(indice, null, erro);
+    }
+
+    public boolean sucesso() {
+        return erro == null;
+    }
+}
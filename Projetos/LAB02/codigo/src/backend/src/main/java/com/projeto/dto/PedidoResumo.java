@@ -0,0 +1,18 @@
+package com.projeto.dto;
+
+import java.util.Date;
+
+import com.projeto.model.Pedido;
+
+// Linha da listagem de pedidos no dashboard: apenas as colunas exibidas, montada direto pela query
+public record PedidoResumo(
+        Long id,
+        Pedido.StatusPedido status,
+        Date dataPedido,
+        Long clienteId,
+        String clienteNome,
+        Long automovelId,
+        String automovelPlaca,
+        String automovelMarca,
+        String automovelModelo) {
+}
@@ -0,0 +1,7 @@
+package com.projeto.dto;
+
+import java.util.Date;
+
+// Início de um contrato, o suficiente para decidir se ele cruza um período pedido
+public record PeriodoContrato(Long id, Date dataInicio) {
+}
@@ -0,0 +1,9 @@
+package com.projeto.dto;
+
+// Contratos iniciados no mês e a soma dos seus valores (contratos sem valor contam, mas não somam)
+public record ReceitaMensal(Integer ano, Integer mes, Long contratos, Double receita) {
+
+    public ReceitaMensal {
+        if (receita == null) receita = 0.0;
+    }
+}
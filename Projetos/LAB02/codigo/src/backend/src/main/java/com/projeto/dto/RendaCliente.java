@@ -0,0 +1,5 @@
+package com.projeto.dto;
+
+// Soma dos rendimentos de um cliente e quantidade de fontes, agregadas no banco
+public record RendaCliente(Long clienteId, Double total, Long fontes) {
+}
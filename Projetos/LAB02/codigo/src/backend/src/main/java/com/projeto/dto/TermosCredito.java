@@ -0,0 +1,5 @@
+package com.projeto.dto;
+
+// Só os termos de um Credito, já em primitivos (sem carregar a entidade nem o banco)
+public record TermosCredito(long id, double valorAprovado, int prazoPagamento, double taxaJuros) {
+}
@@ -0,0 +1,7 @@
+package com.projeto.dto;
+
+import com.projeto.model.Usuario;
+
+// Linha da listagem de usuários: sem documentos, endereço nem coleções, montada direto pela query
+public record UsuarioResumo(Long id, String nome, Usuario.TipoUsuario tipoUsuario) {
+}
@@ -0,0 +1,15 @@
+package com.projeto.dto;
+
+// Dias contratados do automóvel dentro da janela consultada; taxaUtilizacao = dias contratados / dias da janela
+public record UtilizacaoAutomovel(Long automovelId, String placa, String modelo, Long contratos, Long diasContratados,
+                                  Double taxaUtilizacao) {
+
+    public UtilizacaoAutomovel(Long automovelId, String placa, String modelo, Long contratos, Long diasContratados) {
+        this(automovelId, placa, modelo, contratos, diasContratados, null);
+    }
+
+    public UtilizacaoAutomovel comJanela(long diasJanela) {
+        double taxa = diasJanela > 0 ? Math.round(10_000.0 * diasContratados / diasJanela) / 10_000.0 : 0;
+        return new UtilizacaoAutomovel(automovelId, placa, modelo, contratos, diasContratados, taxa);
+    }
+}
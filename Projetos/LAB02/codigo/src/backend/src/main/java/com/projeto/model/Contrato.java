@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.util.Date;
 
 @Entity
-@Table(name = "contrato")
+// Índice de disponibilidade: como os períodos de um automóvel não se sobrepõem, ordenar por data_fim também ordena
+// por data_inicio, e a busca por conflito em [inicio, fim] é um seek em (automovel, data_fim >= inicio)
+@Table(name = "contrato", indexes = @Index(name = "idx_contrato_automovel_periodo", columnList = "automovel, data_fim, data_inicio"))
 public class Contrato {
     public enum TipoContrato {
         Cliente,
@@ -12,8 +14,12 @@ public class Contrato {
         Banco
     }
 
+    public static final int ALOCACAO_IDS = 50;
+
+    // Sequence (em vez de IDENTITY) para a geração automática inserir contratos em lote via JDBC batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contrato_seq")
+    @SequenceGenerator(name = "contrato_seq", sequenceName = "contrato_seq", allocationSize = ALOCACAO_IDS)
     private Long id;
 
     @OneToOne
@@ -0,0 +1,60 @@
+package com.projeto.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Registro de idempotência: o consumidor X já processou o evento Y.
+ * Gravado na mesma transação do efeito do consumidor; a entrega do outbox é "pelo menos uma vez",
+ * então uma reentrega encontra o registro e é ignorada.
+ */
+@Entity
+@Table(name = "evento_consumido", uniqueConstraints = @UniqueConstraint(name = "uk_evento_consumido",
+        columnNames = {"consumidor", "evento_id"}))
+public class EventoConsumido {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 60)
+    private String consumidor;
+
+    @Column(name = "evento_id", nullable = false)
+    private Long eventoId;
+
+    @Column(name = "consumido_em", nullable = false)
+    private Instant consumidoEm;
+
+    public EventoConsumido() {
+    }
+
+    public EventoConsumido(String consumidor, Long eventoId) {
+        this.consumidor = consumidor;
+        this.eventoId = eventoId;
+        this.consumidoEm = Instant.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getConsumidor() {
+        return consumidor;
+    }
+
+    public Long getEventoId() {
+        return eventoId;
+    }
+
+    public Instant getConsumidoEm() {
+        return consumidoEm;
+    }
+}
@@ -0,0 +1,93 @@
+package com.projeto.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Evento de domínio gravado na mesma transação da alteração que o originou (transactional outbox).
+ * O DespachanteOutbox lê os pendentes em lotes e entrega aos consumidores fora da requisição.
+ */
+@Entity
+@Table(name = "evento_outbox", indexes = @Index(name = "idx_outbox_pendentes", columnList = "processado_em, id"))
+public class EventoOutbox {
+
+    public static final String PEDIDO_STATUS = "pedido.status";
+    public static final String CONTRATO_CRIADO = "contrato.criado";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_outbox_seq")
+    @SequenceGenerator(name = "evento_outbox_seq", sequenceName = "evento_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 60)
+    private String tipo;
+
+    @Column(name = "agregado_id")
+    private Long agregadoId;
+
+    // JSON do evento
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "criado_em", nullable = false)
+    private Instant criadoEm;
+
+    @Column(name = "processado_em")
+    private Instant processadoEm;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    @Column(name = "ultimo_erro", length = 1000)
+    private String ultimoErro;
+
+    public EventoOutbox() {
+    }
+
+    public EventoOutbox(String tipo, Long agregadoId, String payload) {
+        this.tipo = tipo;
+        this.agregadoId = agregadoId;
+        this.payload = payload;
+        this.criadoEm = Instant.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public Long getAgregadoId() {
+        return agregadoId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCriadoEm() {
+        return criadoEm;
+    }
+
+    public Instant getProcessadoEm() {
+        return processadoEm;
+    }
+
+    public int getTentativas() {
+        return tentativas;
+    }
+
+    public String getUltimoErro() {
+        return ultimoErro;
+    }
+}
@@ -1,5 +1,9 @@
 package com.projeto.model;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.hibernate.annotations.ColumnDefault;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
@@ -11,14 +15,19 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
+import jakarta.persistence.Version;
 
 @Entity
-@Table(name = "pedido") // Tabela "pedidos" no banco de dados
+// Índice da fila por status: a consulta lê só as linhas do status pedido, já na ordem (data_pedido, id),
+// então o custo não cresce com o histórico de pedidos aprovados/rejeitados
+@Table(name = "pedido", indexes = @Index(name = "idx_pedido_status_data", columnList = "status, data_pedido, id"))
 public class Pedido {
     public enum StatusPedido {
         Em_analise,
@@ -55,10 +64,28 @@ public class Pedido {
             if (this == Em_analise) return "PENDENTE"; // keep public API consistent
             return this.name().toUpperCase(java.util.Locale.ROOT);
         }
+
+        // Máquina de estados: um pedido em análise pode ser aprovado, rejeitado ou cancelado; os demais status são finais
+        public boolean podeMudarPara(StatusPedido destino) {
+            return this == Em_analise && destino != null && destino != Em_analise;
+        }
+
+        // Status a partir dos quais `destino` é alcançável (vazio = destino nunca é válido)
+        public static Set<StatusPedido> origensPara(StatusPedido destino) {
+            EnumSet<StatusPedido> origens = EnumSet.noneOf(StatusPedido.class);
+            for (StatusPedido s : values()) {
+                if (s.podeMudarPara(destino)) origens.add(s);
+            }
+            return origens;
+        }
     }
 
+    public static final int ALOCACAO_IDS = 50;
+
+    // Sequence com otimizador pooled (em vez de IDENTITY) para permitir INSERTs em lote via JDBC batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedido_seq")
+    @SequenceGenerator(name = "pedido_seq", sequenceName = "pedido_seq", allocationSize = ALOCACAO_IDS)
     private Long id;
     
     @ManyToOne
@@ -77,6 +104,12 @@ public class Pedido {
     @Column(name = "data_pedido")
     private Date dataPedido;
 
+    // Controle de concorrência otimista: toda alteração incrementa a versão (o default cobre linhas já existentes)
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
     // Construtores
     public Pedido() {
     }
@@ -129,4 +162,12 @@ public class Pedido {
     public void setDataPedido(Date dataPedido) {
         this.dataPedido = dataPedido;
     }
-}
\ No newline at end of file
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+}
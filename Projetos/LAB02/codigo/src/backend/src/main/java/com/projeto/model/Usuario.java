@@ -3,6 +3,7 @@ package com.projeto.model;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -37,6 +38,8 @@ public class Usuario {
     private String rg;
     private String endereco;
     private String profissao;
+
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY) // hash BCrypt: aceito na entrada, nunca serializado
     private String senha;
 
     @Enumerated(EnumType.STRING)
@@ -1,9 +1,19 @@
 package com.projeto.repository;
 
+import com.projeto.dto.AgenteResumo;
 import com.projeto.model.Agente;
+
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AgenteRepository extends JpaRepository<Agente, Long> {
+
+    // Agentes com a quantidade e a soma dos créditos em um GROUP BY, sem carregar a coleção creditos
+    @Query("select new com.projeto.dto.AgenteResumo(g.id, g.nome, g.nomeAgente, g.tipoAgente, count(c), sum(c.valorAprovado))"
+        + " from Agente g left join g.creditos c group by g.id, g.nome, g.nomeAgente, g.tipoAgente order by g.id")
+    List<AgenteResumo> findResumos();
 }
\ No newline at end of file
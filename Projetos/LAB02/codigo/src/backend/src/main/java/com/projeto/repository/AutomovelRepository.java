@@ -1,9 +1,32 @@
 package com.projeto.repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
 import com.projeto.model.Automovel;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AutomovelRepository extends JpaRepository<Automovel, Long> {
-}
\ No newline at end of file
+    Optional<Automovel> findByPlaca(String placa);
+    Optional<Automovel> findByMatricula(String matricula);
+
+    // Um único SELECT ... IN, já trazendo o proprietário (evita um SELECT por automóvel)
+    @EntityGraph(attributePaths = "proprietario")
+    List<Automovel> findByIdIn(Collection<Long> ids);
+
+    // Automóveis sem contrato cruzando [inicio, fim]; o NOT EXISTS é um seek no índice de período por automóvel
+    @Query("select a from Automovel a left join fetch a.proprietario where not exists (select 1 from Contrato c"
+        + " where c.automovel = a and c.dataFim >= :inicio and c.dataInicio <= :fim) order by a.id")
+    List<Automovel> findLivres(Date inicio, Date fim);
+
+    // SELECT ... FOR UPDATE nas linhas dos automóveis (em ordem de id, para duas transações não travarem em ordem inversa).
+    // Serializa as reservas de um mesmo automóvel: a verificação de conflito e o INSERT do contrato viram uma seção crítica.
+    @Query(value = "select id from automovel where id in :ids order by id for update", nativeQuery = true)
+    List<Long> travar(Collection<Long> ids);
+}
@@ -1,9 +1,66 @@
 package com.projeto.repository;
 
+import com.projeto.dto.ParcelaContrato;
+import com.projeto.dto.PeriodoContrato;
+import com.projeto.dto.ReceitaMensal;
+import com.projeto.dto.UtilizacaoAutomovel;
 import com.projeto.model.Contrato;
+import com.projeto.model.Pedido;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ContratoRepository extends JpaRepository<Contrato, Long> {
-}
\ No newline at end of file
+
+    // Quais dos pedidos informados já têm contrato (o @OneToOne garante no máximo um por pedido)
+    @Query("select c.pedido.id from Contrato c where c.pedido.id in :pedidoIds")
+    Set<Long> findPedidoIdsComContrato(Collection<Long> pedidoIds);
+
+    // Pedidos no status informado ainda sem contrato, em ordem de id (cursor para o reprocessamento em lotes)
+    @Query("select p.id from Pedido p where p.status = :status and p.id > :after"
+        + " and not exists (select 1 from Contrato c where c.pedido = p) order by p.id")
+    List<Long> findPedidoIdsSemContrato(Pedido.StatusPedido status, Long after, Limit limit);
+
+    // Primeiro contrato do automóvel que termina em inicio ou depois, pela ordem de idx_contrato_automovel_periodo;
+    // ignorarId exclui o próprio contrato na edição. Como os contratos de um automóvel não se cruzam, os seguintes
+    // começam depois deste: só ele precisa ser comparado com o fim do período (ver DisponibilidadeService)
+    @Query("select new com.projeto.dto.PeriodoContrato(c.id, c.dataInicio) from Contrato c"
+        + " where c.automovel.id = :automovelId and c.dataFim >= :inicio and c.id <> :ignorarId order by c.dataFim, c.id")
+    List<PeriodoContrato> findPrimeiroAPartirDe(Long automovelId, Date inicio, Long ignorarId, Limit limit);
+
+    // Quais dos automóveis informados têm contrato cruzando [inicio, fim]
+    @Query("select distinct c.automovel.id from Contrato c where c.automovel.id in :automovelIds"
+        + " and c.dataFim >= :inicio and c.dataInicio <= :fim")
+    Set<Long> findAutomovelIdsOcupados(Collection<Long> automovelIds, Date inicio, Date fim);
+
+    // Relatório: contratos e receita por mês de início, agregados no banco
+    @Query("select new com.projeto.dto.ReceitaMensal(year(c.dataInicio), month(c.dataInicio), count(c), sum(c.valor))"
+        + " from Contrato c where c.dataInicio between :de and :ate"
+        + " group by year(c.dataInicio), month(c.dataInicio) order by year(c.dataInicio), month(c.dataInicio)")
+    List<ReceitaMensal> receitaPorMes(Date de, Date ate);
+
+    // Relatório: dias contratados de cada automóvel dentro de [de, ate] (interseção de cada contrato com a janela, inclusiva)
+    @Query("select new com.projeto.dto.UtilizacaoAutomovel(a.id, a.placa, a.modelo, count(c),"
+        + " sum((least(c.dataFim, :ate) - greatest(c.dataInicio, :de)) by day + 1))"
+        + " from Contrato c join c.automovel a where c.dataFim >= :de and c.dataInicio <= :ate"
+        + " group by a.id, a.placa, a.modelo"
+        + " order by sum((least(c.dataFim, :ate) - greatest(c.dataInicio, :de)) by day + 1) desc, a.id")
+    List<UtilizacaoAutomovel> utilizacaoPorAutomovel(Date de, Date ate, Limit limit);
+
+    // Recontagem do dashboard; mesma regra de EstatisticasService.vigente (datas inclusivas, sem datas = não vigente)
+    @Query("select count(c) from Contrato c where c.dataInicio <= :hoje and c.dataFim >= :hoje")
+    long countVigentes(Date hoje);
+
+    // Contratos com valor ainda vigentes em `hoje`, por cliente do pedido (base das parcelas já comprometidas)
+    @Query("select new com.projeto.dto.ParcelaContrato(p.cliente.id, c.valor, c.dataInicio, c.dataFim)"
+        + " from Contrato c join c.pedido p where p.cliente.id in :clienteIds and c.valor is not null and c.dataFim >= :hoje")
+    List<ParcelaContrato> findVigentesPorCliente(Collection<Long> clienteIds, Date hoje);
+}
@@ -1,9 +1,44 @@
 package com.projeto.repository;
 
+import com.projeto.dto.CreditoAgente;
+import com.projeto.dto.TermosCredito;
 import com.projeto.model.Credito;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface CreditoRepository extends JpaRepository<Credito, Long> {
-}
\ No newline at end of file
+
+    // Créditos com termos incompletos não têm cronograma e ficam fora das consultas de termos
+    String TERMOS = "select new com.projeto.dto.TermosCredito(c.id, c.valorAprovado, c.prazoPagamento, c.taxaJuros)"
+        + " from Credito c where c.valorAprovado is not null and c.prazoPagamento > 0 and c.taxaJuros is not null";
+
+    @Query(TERMOS + " and c.id = :id")
+    Optional<TermosCredito> findTermosPorId(Long id);
+
+    @Query(TERMOS)
+    List<TermosCredito> findTermos();
+
+    // Cursor JDBC para exportar cronogramas da carteira inteira; precisa rodar dentro de uma transação
+    @Query(TERMOS + " order by c.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<TermosCredito> streamTermos();
+
+    // Recontagem do dashboard: créditos com valor aprovado, por banco
+    @Query("select new com.projeto.dto.CreditoAgente(c.banco.id, count(c), sum(c.valorAprovado))"
+        + " from Credito c where c.banco is not null and c.valorAprovado is not null group by c.banco.id")
+    List<CreditoAgente> somarPorAgente();
+}
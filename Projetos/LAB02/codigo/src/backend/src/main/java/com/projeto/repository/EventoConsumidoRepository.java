@@ -0,0 +1,18 @@
+package com.projeto.repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.projeto.model.EventoConsumido;
+
+@Repository
+public interface EventoConsumidoRepository extends JpaRepository<EventoConsumido, Long> {
+
+    // Quais dos eventos do lote o consumidor já processou (um SELECT por lote)
+    @Query("select c.eventoId from EventoConsumido c where c.consumidor = :consumidor and c.eventoId in :eventoIds")
+    Set<Long> findEventoIdsConsumidos(String consumidor, Collection<Long> eventoIds);
+}
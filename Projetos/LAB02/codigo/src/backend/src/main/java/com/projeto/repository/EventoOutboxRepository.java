@@ -0,0 +1,40 @@
+package com.projeto.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.projeto.model.EventoOutbox;
+
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    // Pendentes em ordem de gravação; eventos que esgotaram as tentativas ficam de fora (ver ultimo_erro)
+    @Query("select e from EventoOutbox e where e.processadoEm is null and e.tentativas < :maxTentativas order by e.id")
+    List<EventoOutbox> findPendentes(int maxTentativas, Limit limit);
+
+    @Query("select count(e) from EventoOutbox e where e.processadoEm is null")
+    long contarPendentes();
+
+    @Transactional
+    @Modifying
+    @Query("update EventoOutbox e set e.processadoEm = :agora where e.id in :ids")
+    int marcarProcessados(Collection<Long> ids, Instant agora);
+
+    @Transactional
+    @Modifying
+    @Query("update EventoOutbox e set e.tentativas = e.tentativas + 1, e.ultimoErro = :erro where e.id in :ids")
+    int registrarFalha(Collection<Long> ids, String erro);
+
+    @Transactional
+    @Modifying
+    @Query("delete from EventoOutbox e where e.processadoEm < :limite")
+    int removerProcessadosAntesDe(Instant limite);
+}
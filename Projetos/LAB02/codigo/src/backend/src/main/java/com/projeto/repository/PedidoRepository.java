@@ -1,11 +1,103 @@
 package com.projeto.repository;
 
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.projeto.dto.AprovacaoAgente;
+import com.projeto.dto.PedidoCliente;
+import com.projeto.dto.PedidoResumo;
 import com.projeto.model.Pedido;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
+	// cliente, automovel e o proprietário do automóvel vêm no mesmo SELECT (evita N+1)
+	@Override
+	@EntityGraph(attributePaths = {"cliente", "automovel", "automovel.proprietario"})
+	java.util.List<Pedido> findAll();
+
+	@Override
+	@EntityGraph(attributePaths = {"cliente", "automovel", "automovel.proprietario"})
+	Optional<Pedido> findById(Long id);
+
+	@Query("select p.status from Pedido p where p.id = :id")
+	Optional<Pedido.StatusPedido> findStatusById(Long id);
+
+	// Recontagem dos contadores do dashboard: [status, quantidade]
+	@Query("select p.status, count(p) from Pedido p group by p.status")
+	java.util.List<Object[]> contarPorStatus();
+
+	@EntityGraph(attributePaths = {"cliente", "automovel", "automovel.proprietario"})
 	java.util.List<Pedido> findByClienteId(Long clienteId);
-}
\ No newline at end of file
+
+	// Carga em lote para a geração de contratos: automóvel e proprietário no mesmo SELECT
+	@EntityGraph(attributePaths = {"automovel", "automovel.proprietario"})
+	java.util.List<Pedido> findByIdIn(Collection<Long> ids);
+
+	// Paginação por cursor (keyset): usa o índice da PK em vez de OFFSET
+	@Query("select p from Pedido p left join fetch p.cliente left join fetch p.automovel a left join fetch a.proprietario"
+			+ " where p.id > :after order by p.id")
+	java.util.List<Pedido> findPaginaAposId(Long after, Limit limit);
+
+	// Fila por status (ex.: pendentes para o agente), mais antigos primeiro e sem data por último (a ordem ASC do
+	// índice no PostgreSQL); percorre idx_pedido_status_data.
+	// O cursor é o id do último item recebido; a posição (data_pedido, id) dele vem da junção com a própria linha,
+	// então um cursor que não existe mais devolve página vazia (o serviço distingue isso do fim da fila).
+	@Query("select p from Pedido p left join fetch p.cliente left join fetch p.automovel a left join fetch a.proprietario"
+			+ " where p.status = :status order by p.dataPedido nulls last, p.id")
+	java.util.List<Pedido> findPorStatus(Pedido.StatusPedido status, Limit limit);
+
+	@Query("select p from Pedido p left join fetch p.cliente left join fetch p.automovel a left join fetch a.proprietario,"
+			+ " Pedido c where c.id = :after and p.status = :status and ("
+			+ " (c.dataPedido is not null and (p.dataPedido > c.dataPedido or (p.dataPedido = c.dataPedido and p.id > c.id)"
+			+ " or p.dataPedido is null))"
+			+ " or (c.dataPedido is null and p.dataPedido is null and p.id > c.id))"
+			+ " order by p.dataPedido nulls last, p.id")
+	java.util.List<Pedido> findPorStatusApos(Pedido.StatusPedido status, Long after, Limit limit);
+
+	// Projeção enxuta para o dashboard: uma única query, sem carregar entidades
+	@Query("select new com.projeto.dto.PedidoResumo(p.id, p.status, p.dataPedido, c.id, c.nome, a.id, a.placa, a.marca, a.modelo)"
+			+ " from Pedido p left join p.cliente c left join p.automovel a where p.id > :after order by p.id")
+	java.util.List<PedidoResumo> findResumoAposId(Long after, Limit limit);
+
+	@Query("select new com.projeto.dto.PedidoResumo(p.id, p.status, p.dataPedido, c.id, c.nome, a.id, a.placa, a.marca, a.modelo)"
+			+ " from Pedido p join p.cliente c left join p.automovel a where c.id = :clienteId order by p.id")
+	java.util.List<PedidoResumo> findResumoPorCliente(Long clienteId);
+
+	// Pares pedido/cliente de um status (ex.: fila pendente para o score em lote); percorre idx_pedido_status_data
+	@Query("select new com.projeto.dto.PedidoCliente(p.id, p.cliente.id) from Pedido p where p.status = :status order by p.dataPedido, p.id")
+	java.util.List<PedidoCliente> findPedidoClientePorStatus(Pedido.StatusPedido status);
+
+	// Relatório: pedidos de automóveis de cada agente (pedido não tem agente; o responsável é o dono do automóvel)
+	@Query("select new com.projeto.dto.AprovacaoAgente(g.id, g.nomeAgente, g.tipoAgente, count(p),"
+			+ " sum(case when p.status = com.projeto.model.Pedido.StatusPedido.Aprovado then 1 else 0 end),"
+			+ " sum(case when p.status = com.projeto.model.Pedido.StatusPedido.Rejeitado then 1 else 0 end))"
+			+ " from Pedido p join p.automovel a join Agente g on g.id = a.proprietario.id"
+			+ " group by g.id, g.nomeAgente, g.tipoAgente order by g.id")
+	java.util.List<AprovacaoAgente> aprovacaoPorAgente();
+
+	// Transição de status como compare-and-set: só altera se o status atual ainda for uma das origens permitidas.
+	// Retorna 0 quando outro agente já mudou o pedido (ou ele não existe).
+	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@Query("update Pedido p set p.status = :novo, p.versao = p.versao + 1 where p.id = :id and p.status in :origens")
+	int atualizarStatus(Long id, Collection<Pedido.StatusPedido> origens, Pedido.StatusPedido novo);
+
+	// Cursor JDBC para exportação em streaming; precisa rodar dentro de uma transação
+	@Query("select p from Pedido p left join fetch p.cliente left join fetch p.automovel a left join fetch a.proprietario order by p.id")
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+		@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	Stream<Pedido> streamTodos();
+}
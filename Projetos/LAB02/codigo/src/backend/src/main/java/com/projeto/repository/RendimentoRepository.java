@@ -1,9 +1,20 @@
 package com.projeto.repository;
 
+import com.projeto.dto.RendaCliente;
 import com.projeto.model.Rendimento;
+
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface RendimentoRepository extends JpaRepository<Rendimento, Long> {
-}
\ No newline at end of file
+
+    // Renda agregada por cliente em uma única query (sem carregar Rendimento nem Usuario)
+    @Query("select new com.projeto.dto.RendaCliente(r.usuario.id, sum(r.valor), count(r)) from Rendimento r"
+        + " where r.usuario.id in :clienteIds and r.valor > 0 group by r.usuario.id")
+    List<RendaCliente> somarPorCliente(Collection<Long> clienteIds);
+}
@@ -1,12 +1,27 @@
 package com.projeto.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.projeto.dto.UsuarioResumo;
 import com.projeto.model.Usuario;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
-    Optional<Usuario> findByCpfAndSenha(String cpf, String senha);
+    // cpf é unique, portanto a busca usa o índice da constraint
     Optional<Usuario> findByCpf(String cpf);
-}
\ No newline at end of file
+
+    // Projeção da listagem: só as colunas de usuario, sem as tabelas de cliente/agente nem coleções
+    @Query("select new com.projeto.dto.UsuarioResumo(u.id, u.nome, u.tipoUsuario) from Usuario u where u.id > :after order by u.id")
+    List<UsuarioResumo> findResumoAposId(Long after, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("update Usuario u set u.senha = :senha where u.id = :id")
+    int atualizarSenha(Long id, String senha);
+}
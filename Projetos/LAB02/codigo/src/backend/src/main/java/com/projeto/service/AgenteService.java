@@ -1,9 +1,15 @@
 package com.projeto.service;
 
+import com.projeto.cache.AutomovelCache;
+import com.projeto.cache.CredencialCache;
+import com.projeto.cache.VersaoTabelas;
+import com.projeto.cache.VersaoTabelas.Tabela;
+import com.projeto.dto.AgenteResumo;
 import com.projeto.model.Agente;
 import com.projeto.repository.AgenteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,30 +20,63 @@ public class AgenteService {
     @Autowired
     private AgenteRepository agenteRepository;
 
+    @Autowired
+    private SenhaService senhaService;
+
+    @Autowired
+    private CredencialCache credencialCache;
+
+    @Autowired
+    private AutomovelCache automovelCache;
+
+    @Autowired
+    private VersaoTabelas versaoTabelas;
+
+    @Autowired
+    private TokenService tokenService;
+
     public Agente salvar(Agente agente) {
-        return agenteRepository.save(agente);
+        agente.setSenha(senhaService.protegerSenha(agente.getSenha()));
+        Agente salvo = agenteRepository.save(agente);
+        versaoTabelas.alterada(Tabela.USUARIO);
+        return salvo;
     }
 
     public List<Agente> listarTodos() {
         return agenteRepository.findAll();
     }
 
+    public List<AgenteResumo> listarResumo() {
+        return agenteRepository.findResumos();
+    }
+
     public Optional<Agente> buscarPorId(Long id) {
         return agenteRepository.findById(id);
     }
 
+    @Transactional
     public Optional<Agente> atualizar(Long id, Agente agenteAtualizado) {
         return agenteRepository.findById(id)
             .map(agenteExistente -> {
                 agenteExistente.setNomeAgente(agenteAtualizado.getNomeAgente());
                 agenteExistente.setTipoAgente(agenteAtualizado.getTipoAgente());
-                return agenteRepository.save(agenteExistente);
+                Agente salvo = agenteRepository.save(agenteExistente);
+                credencialCache.invalidarAposCommit(salvo.getCpf()); // perfil em cache inclui nomeAgente/tipoAgente
+                versaoTabelas.alterada(Tabela.USUARIO);
+                return salvo;
             });
     }
 
+    @Transactional
     public boolean deletar(Long id) {
-        if (agenteRepository.existsById(id)) {
-            agenteRepository.deleteById(id);
+        Optional<Agente> agente = agenteRepository.findById(id);
+        if (agente.isPresent()) {
+            agenteRepository.delete(agente.get());
+            credencialCache.invalidarAposCommit(agente.get().getCpf());
+            tokenService.revogarUsuarioAposCommit(id);
+            // automóveis do usuário saem em cascata
+            automovelCache.invalidarDoProprietarioAposCommit(id);
+            versaoTabelas.alterada(Tabela.values());
             return true;
         }
         return false;
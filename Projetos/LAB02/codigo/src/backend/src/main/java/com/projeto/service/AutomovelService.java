@@ -1,5 +1,8 @@
 package com.projeto.service;
 
+import com.projeto.cache.AutomovelCache;
+import com.projeto.cache.VersaoTabelas;
+import com.projeto.cache.VersaoTabelas.Tabela;
 import com.projeto.model.Automovel;
 import com.projeto.repository.AutomovelRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,6 +10,8 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 public class AutomovelService {
@@ -14,16 +19,38 @@ public class AutomovelService {
     @Autowired
     private AutomovelRepository automovelRepository;
 
+    @Autowired
+    private AutomovelCache automovelCache;
+
+    @Autowired
+    private VersaoTabelas versaoTabelas;
+
     public Automovel salvar(Automovel automovel) {
-        return automovelRepository.save(automovel);
+        Automovel salvo = automovelRepository.save(automovel);
+        automovelCache.invalidar(salvo.getId());
+        versaoTabelas.alterada(Tabela.AUTOMOVEL);
+        return salvo;
     }
 
     public List<Automovel> listarTodos() {
         return automovelRepository.findAll();
     }
 
+    // Leitura via cache (read-through): só consulta o banco em caso de falha
     public Optional<Automovel> buscarPorId(Long id) {
-        return automovelRepository.findById(id);
+        Automovel emCache = automovelCache.buscarPorId(id);
+        if (emCache != null) return Optional.of(emCache);
+        return carregar(() -> automovelRepository.findById(id));
+    }
+
+    public Optional<Automovel> buscarPorPlaca(String placa) {
+        return buscarPorChave(automovelCache.idPorPlaca(placa), Automovel::getPlaca, placa,
+            () -> automovelRepository.findByPlaca(placa));
+    }
+
+    public Optional<Automovel> buscarPorMatricula(String matricula) {
+        return buscarPorChave(automovelCache.idPorMatricula(matricula), Automovel::getMatricula, matricula,
+            () -> automovelRepository.findByMatricula(matricula));
     }
 
     public Optional<Automovel> atualizar(Long id, Automovel automovelAtualizado) {
@@ -35,15 +62,38 @@ public class AutomovelService {
                 automovelExistente.setMarca(automovelAtualizado.getMarca());
                 automovelExistente.setModelo(automovelAtualizado.getModelo());
                 automovelExistente.setProprietario(automovelAtualizado.getProprietario());
-                return automovelRepository.save(automovelExistente);
+                Automovel salvo = automovelRepository.save(automovelExistente);
+                automovelCache.invalidar(id);
+                versaoTabelas.alterada(Tabela.AUTOMOVEL);
+                return salvo;
             });
     }
 
     public boolean deletar(Long id) {
         if (automovelRepository.existsById(id)) {
             automovelRepository.deleteById(id);
+            automovelCache.invalidar(id);
+            // pedidos embutem o automóvel
+            versaoTabelas.alterada(Tabela.AUTOMOVEL, Tabela.PEDIDO);
             return true;
         }
         return false;
     }
-}
\ No newline at end of file
+
+    // Índice secundário aponta para o id; confere a chave porque o índice pode estar defasado após uma troca de placa
+    private Optional<Automovel> buscarPorChave(Long id, Function<Automovel, String> chave, String valor,
+                                               Supplier<Optional<Automovel>> consulta) {
+        if (id != null) {
+            Optional<Automovel> porId = buscarPorId(id);
+            if (porId.isPresent() && valor.equals(chave.apply(porId.get()))) return porId;
+        }
+        return carregar(consulta);
+    }
+
+    private Optional<Automovel> carregar(Supplier<Optional<Automovel>> consulta) {
+        long geracao = automovelCache.geracao();
+        Optional<Automovel> automovel = consulta.get();
+        automovel.ifPresent(a -> automovelCache.guardar(a, geracao));
+        return automovel;
+    }
+}
@@ -1,9 +1,14 @@
 package com.projeto.service;
 
+import com.projeto.cache.AutomovelCache;
+import com.projeto.cache.CredencialCache;
+import com.projeto.cache.VersaoTabelas;
+import com.projeto.cache.VersaoTabelas.Tabela;
 import com.projeto.model.Cliente;
 import com.projeto.repository.ClienteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,8 +19,26 @@ public class ClienteService {
     @Autowired
     private ClienteRepository clienteRepository;
 
+    @Autowired
+    private SenhaService senhaService;
+
+    @Autowired
+    private CredencialCache credencialCache;
+
+    @Autowired
+    private AutomovelCache automovelCache;
+
+    @Autowired
+    private VersaoTabelas versaoTabelas;
+
+    @Autowired
+    private TokenService tokenService;
+
     public Cliente salvar(Cliente cliente) {
-        return clienteRepository.save(cliente);
+        cliente.setSenha(senhaService.protegerSenha(cliente.getSenha()));
+        Cliente salvo = clienteRepository.save(cliente);
+        versaoTabelas.alterada(Tabela.USUARIO);
+        return salvo;
     }
 
     public List<Cliente> listarTodos() {
@@ -26,24 +49,40 @@ public class ClienteService {
         return clienteRepository.findById(id);
     }
 
+    @Transactional
     public Optional<Cliente> atualizar(Long id, Cliente clienteAtualizado) {
         return clienteRepository.findById(id)
             .map(clienteExistente -> {
+                String cpfAnterior = clienteExistente.getCpf();
+                tokenService.revogarSeCredencialMudou(clienteExistente, clienteAtualizado);
                 clienteExistente.setNome(clienteAtualizado.getNome());
                 clienteExistente.setCpf(clienteAtualizado.getCpf());
                 clienteExistente.setRg(clienteAtualizado.getRg());
                 clienteExistente.setEndereco(clienteAtualizado.getEndereco());
                 clienteExistente.setProfissao(clienteAtualizado.getProfissao());
-                clienteExistente.setSenha(clienteAtualizado.getSenha());
+                if (clienteAtualizado.getSenha() != null) {
+                    clienteExistente.setSenha(senhaService.protegerSenha(clienteAtualizado.getSenha()));
+                }
                 clienteExistente.setTipoUsuario(clienteAtualizado.getTipoUsuario());
                 clienteExistente.setEmpregadoras(clienteAtualizado.getEmpregadoras());
-                return clienteRepository.save(clienteExistente);
+                Cliente salvo = clienteRepository.save(clienteExistente);
+                credencialCache.invalidarAposCommit(cpfAnterior);
+                credencialCache.invalidarAposCommit(salvo.getCpf());
+                versaoTabelas.alterada(Tabela.USUARIO);
+                return salvo;
             });
     }
 
+    @Transactional
     public boolean deletar(Long id) {
-        if (clienteRepository.existsById(id)) {
-            clienteRepository.deleteById(id);
+        Optional<Cliente> cliente = clienteRepository.findById(id);
+        if (cliente.isPresent()) {
+            clienteRepository.delete(cliente.get());
+            credencialCache.invalidarAposCommit(cliente.get().getCpf());
+            tokenService.revogarUsuarioAposCommit(id);
+            // automóveis do usuário saem em cascata
+            automovelCache.invalidarDoProprietarioAposCommit(id);
+            versaoTabelas.alterada(Tabela.values());
             return true;
         }
         return false;
@@ -0,0 +1,23 @@
+package com.projeto.service;
+
+import java.util.List;
+
+import com.projeto.model.EventoOutbox;
+
+/**
+ * Trabalho de acompanhamento disparado por eventos do outbox (notificações, crédito, contratos...).
+ * Cada implementação registrada como bean é chamada pelo DespachanteOutbox, em lotes e fora da requisição.
+ */
+public interface ConsumidorOutbox {
+
+    // Identificador estável: usado no registro de idempotência (evento_consumido)
+    String nome();
+
+    boolean interessa(String tipoEvento);
+
+    /**
+     * Processa um lote de eventos ainda não vistos por este consumidor. Roda dentro de uma transação
+     * que também grava o registro de idempotência; uma exceção desfaz ambos e o lote é reentregue depois.
+     */
+    void processar(List<EventoOutbox> eventos);
+}
@@ -1,9 +1,13 @@
 package com.projeto.service;
 
+import com.projeto.cache.ScoreCreditoCache;
+import com.projeto.dto.ContratoEvento;
 import com.projeto.model.Contrato;
+import com.projeto.model.EventoOutbox;
 import com.projeto.repository.ContratoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,8 +18,30 @@ public class ContratoService {
     @Autowired
     private ContratoRepository contratoRepository;
 
+    @Autowired
+    private OutboxService outboxService;
+
+    // Parcelas de contratos entram no score; o CRUD manual é raro, então invalida todos os scores
+    @Autowired
+    private ScoreCreditoCache scoreCreditoCache;
+
+    @Autowired
+    private DisponibilidadeService disponibilidadeService;
+
+    @Autowired
+    private EstatisticasService estatisticasService;
+
+    // O evento contrato.criado é gravado no outbox na mesma transação do INSERT
+    @Transactional
     public Contrato salvar(Contrato contrato) {
-        return contratoRepository.save(contrato);
+        boolean novo = contrato.getId() == null;
+        reservarAutomovel(contrato, contrato.getId());
+        boolean vigenteAntes = !novo && contratoRepository.findById(contrato.getId()).map(EstatisticasService::vigente).orElse(false);
+        Contrato salvo = contratoRepository.save(contrato);
+        estatisticasService.contratoAlterado(vigenteAntes, EstatisticasService.vigente(salvo));
+        if (novo) outboxService.registrar(EventoOutbox.CONTRATO_CRIADO, salvo.getId(), ContratoEvento.de(salvo));
+        scoreCreditoCache.invalidarTodosAposCommit();
+        return salvo;
     }
 
     public List<Contrato> listarTodos() {
@@ -26,24 +52,41 @@ public class ContratoService {
         return contratoRepository.findById(id);
     }
 
+    @Transactional
     public Optional<Contrato> atualizar(Long id, Contrato contratoAtualizado) {
         return contratoRepository.findById(id)
             .map(contratoExistente -> {
+                reservarAutomovel(contratoAtualizado, id);
+                boolean vigenteAntes = EstatisticasService.vigente(contratoExistente);
                 contratoExistente.setPedido(contratoAtualizado.getPedido());
                 contratoExistente.setTipoContrato(contratoAtualizado.getTipoContrato());
                 contratoExistente.setValor(contratoAtualizado.getValor());
                 contratoExistente.setDataInicio(contratoAtualizado.getDataInicio());
                 contratoExistente.setDataFim(contratoAtualizado.getDataFim());
                 contratoExistente.setAutomovel(contratoAtualizado.getAutomovel());
-                return contratoRepository.save(contratoExistente);
+                Contrato salvo = contratoRepository.save(contratoExistente);
+                estatisticasService.contratoAlterado(vigenteAntes, EstatisticasService.vigente(salvo));
+                scoreCreditoCache.invalidarTodosAposCommit();
+                return salvo;
             });
     }
 
+    // Com automóvel e período informados, recusa (409) períodos que cruzam outro contrato do mesmo automóvel
+    private void reservarAutomovel(Contrato contrato, Long contratoId) {
+        if (contrato.getAutomovel() == null || contrato.getAutomovel().getId() == null) return;
+        if (contrato.getDataInicio() == null && contrato.getDataFim() == null) return;
+        disponibilidadeService.reservar(contrato.getAutomovel().getId(), contrato.getDataInicio(), contrato.getDataFim(), contratoId);
+    }
+
+    @Transactional
     public boolean deletar(Long id) {
-        if (contratoRepository.existsById(id)) {
-            contratoRepository.deleteById(id);
-            return true;
-        }
-        return false;
+        return contratoRepository.findById(id)
+            .map(contrato -> {
+                contratoRepository.delete(contrato);
+                estatisticasService.contratoAlterado(EstatisticasService.vigente(contrato), false);
+                scoreCreditoCache.invalidarTodosAposCommit();
+                return true;
+            })
+            .orElse(false);
     }
 }
\ No newline at end of file
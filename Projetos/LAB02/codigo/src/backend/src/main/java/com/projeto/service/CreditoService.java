@@ -1,12 +1,19 @@
 package com.projeto.service;
 
+import com.projeto.cache.VersaoTabelas;
+import com.projeto.cache.VersaoTabelas.Tabela;
+import com.projeto.dto.CarteiraResumo;
+import com.projeto.dto.TermosCredito;
 import com.projeto.model.Credito;
 import com.projeto.repository.CreditoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class CreditoService {
@@ -14,8 +21,20 @@ public class CreditoService {
     @Autowired
     private CreditoRepository creditoRepository;
 
+    @Autowired
+    private EstatisticasService estatisticasService;
+
+    @Autowired
+    private VersaoTabelas versaoTabelas;
+
+    @Transactional
     public Credito salvar(Credito credito) {
-        return creditoRepository.save(credito);
+        EstatisticasService.TermoAgente anterior = credito.getId() == null ? null
+            : creditoRepository.findById(credito.getId()).map(EstatisticasService::termo).orElse(null);
+        Credito salvo = creditoRepository.save(credito);
+        estatisticasService.creditoAlterado(anterior, EstatisticasService.termo(salvo));
+        versaoTabelas.alterada(Tabela.CREDITO);
+        return salvo;
     }
 
     public List<Credito> listarTodos() {
@@ -26,22 +45,98 @@ public class CreditoService {
         return creditoRepository.findById(id);
     }
 
+    @Transactional
     public Optional<Credito> atualizar(Long id, Credito creditoAtualizado) {
         return creditoRepository.findById(id)
             .map(creditoExistente -> {
+                EstatisticasService.TermoAgente anterior = EstatisticasService.termo(creditoExistente);
                 creditoExistente.setBanco(creditoAtualizado.getBanco());
                 creditoExistente.setValorAprovado(creditoAtualizado.getValorAprovado());
                 creditoExistente.setPrazoPagamento(creditoAtualizado.getPrazoPagamento());
                 creditoExistente.setTaxaJuros(creditoAtualizado.getTaxaJuros());
-                return creditoRepository.save(creditoExistente);
+                Credito salvo = creditoRepository.save(creditoExistente);
+                estatisticasService.creditoAlterado(anterior, EstatisticasService.termo(salvo));
+                versaoTabelas.alterada(Tabela.CREDITO);
+                return salvo;
             });
     }
 
+    @Transactional
     public boolean deletar(Long id) {
-        if (creditoRepository.existsById(id)) {
-            creditoRepository.deleteById(id);
-            return true;
+        return creditoRepository.findById(id)
+            .map(credito -> {
+                creditoRepository.delete(credito);
+                estatisticasService.creditoAlterado(EstatisticasService.termo(credito), null);
+                versaoTabelas.alterada(Tabela.CREDITO);
+                return true;
+            })
+            .orElse(false);
+    }
+
+    public Optional<TermosCredito> buscarTermos(Long id) {
+        return creditoRepository.findTermosPorId(id);
+    }
+
+    // Percorre os termos de todos os créditos via cursor JDBC, sem materializar a carteira em memória
+    @Transactional(readOnly = true)
+    public long percorrerTermos(Consumer<TermosCredito> consumidor) {
+        long total = 0;
+        try (Stream<TermosCredito> termos = creditoRepository.streamTermos()) {
+            java.util.Iterator<TermosCredito> it = termos.iterator();
+            while (it.hasNext()) {
+                consumidor.accept(it.next());
+                total++;
+            }
+        }
+        return total;
+    }
+
+    // Totais em forma fechada por crédito (O(1) cada), somados em paralelo com acumuladores primitivos
+    public CarteiraResumo resumirCarteira(TabelaAmortizacao.Sistema sistema) {
+        AcumuladorCarteira a = creditoRepository.findTermos().parallelStream()
+            .collect(() -> new AcumuladorCarteira(sistema), AcumuladorCarteira::somar, AcumuladorCarteira::combinar);
+        return a.resumo();
+    }
+
+    private static final class AcumuladorCarteira {
+        private final TabelaAmortizacao.Sistema sistema;
+        private long quantidade;
+        private double valor;
+        private double juros;
+        private double primeirasParcelas;
+        private long prazos;
+        private double taxaPonderada;
+
+        AcumuladorCarteira(TabelaAmortizacao.Sistema sistema) {
+            this.sistema = sistema;
+        }
+
+        void somar(TermosCredito t) {
+            quantidade++;
+            valor += t.valorAprovado();
+            juros += TabelaAmortizacao.totalJuros(sistema, t.valorAprovado(), t.prazoPagamento(), t.taxaJuros());
+            primeirasParcelas += TabelaAmortizacao.primeiraParcela(sistema, t.valorAprovado(), t.prazoPagamento(), t.taxaJuros());
+            prazos += t.prazoPagamento();
+            taxaPonderada += t.taxaJuros() * t.valorAprovado();
+        }
+
+        void combinar(AcumuladorCarteira o) {
+            quantidade += o.quantidade;
+            valor += o.valor;
+            juros += o.juros;
+            primeirasParcelas += o.primeirasParcelas;
+            prazos += o.prazos;
+            taxaPonderada += o.taxaPonderada;
+        }
+
+        CarteiraResumo resumo() {
+            return new CarteiraResumo(sistema, quantidade, centavos(valor), centavos(juros), centavos(valor + juros),
+                centavos(primeirasParcelas), quantidade > 0 ? centavos((double) prazos / quantidade) : 0,
+                valor > 0 ? Math.round(taxaPonderada / valor * 10_000) / 10_000.0 : 0);
+        }
+
+        private static double centavos(double v) {
+            return Math.round(v * 100) / 100.0;
         }
-        return false;
     }
-}
\ No newline at end of file
+}
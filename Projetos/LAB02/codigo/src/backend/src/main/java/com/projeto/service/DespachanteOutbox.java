@@ -0,0 +1,129 @@
+package com.projeto.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projeto.model.EventoConsumido;
+import com.projeto.model.EventoOutbox;
+import com.projeto.repository.EventoConsumidoRepository;
+import com.projeto.repository.EventoOutboxRepository;
+
+/**
+ * Drena o outbox em lotes e entrega aos consumidores (pelo menos uma vez).
+ *
+ * Para cada consumidor, o lote roda em uma transação própria que aplica o efeito e grava os registros
+ * de idempotência; eventos já vistos pelo consumidor são filtrados antes. Um evento só é marcado como
+ * processado quando todos os consumidores interessados concluíram; se um falhar, o evento volta no
+ * próximo ciclo (até outbox.max-tentativas) sem repetir o que os outros já fizeram.
+ *
+ * Quando o lote de um consumidor falha, ele é dividido ao meio e cada metade roda em nova transação,
+ * até isolar os eventos que falham sozinhos: só eles contam tentativa, e os saudáveis do lote seguem.
+ */
+@Service
+public class DespachanteOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(DespachanteOutbox.class);
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private EventoConsumidoRepository eventoConsumidoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired(required = false)
+    private List<ConsumidorOutbox> consumidores = List.of();
+
+    @Value("${outbox.lote:200}")
+    private int tamanhoLote;
+
+    @Value("${outbox.max-tentativas:10}")
+    private int maxTentativas;
+
+    @Value("${outbox.retencao:7d}")
+    private Duration retencao;
+
+    @Scheduled(fixedDelayString = "${outbox.intervalo:1s}", initialDelayString = "${outbox.atraso-inicial:5s}")
+    public void executarCiclo() {
+        // Continua enquanto lotes cheios forem concluídos, para não acumular atraso em picos
+        // (lotes com falha esperam o próximo ciclo em vez de serem repetidos em sequência)
+        while (despachar() == tamanhoLote) {
+            // próximo lote
+        }
+    }
+
+    /** Processa um lote de pendentes; retorna quantos eventos foram concluídos. */
+    public int despachar() {
+        List<EventoOutbox> eventos = eventoOutboxRepository.findPendentes(maxTentativas, Limit.of(tamanhoLote));
+        if (eventos.isEmpty()) return 0;
+
+        Set<Long> falharam = new HashSet<>();
+        for (ConsumidorOutbox consumidor : consumidores) {
+            List<EventoOutbox> relevantes = eventos.stream().filter(e -> consumidor.interessa(e.getTipo())).toList();
+            if (relevantes.isEmpty()) continue;
+            entregarIsolandoFalhas(consumidor, relevantes, falharam);
+        }
+
+        List<Long> concluidos = new ArrayList<>();
+        for (EventoOutbox e : eventos) {
+            if (!falharam.contains(e.getId())) concluidos.add(e.getId());
+        }
+        if (!concluidos.isEmpty()) eventoOutboxRepository.marcarProcessados(concluidos, Instant.now());
+        log.debug("[DespachanteOutbox] lote de {} eventos: {} concluídos, {} com falha", eventos.size(), concluidos.size(), falharam.size());
+        return concluidos.size();
+    }
+
+    // Bisseção: com k eventos problemáticos num lote de n, custa O(k log n) transações em vez de n
+    private void entregarIsolandoFalhas(ConsumidorOutbox consumidor, List<EventoOutbox> lote, Set<Long> falharam) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> entregar(consumidor, lote));
+        } catch (RuntimeException ex) {
+            if (lote.size() > 1) {
+                int meio = lote.size() / 2;
+                entregarIsolandoFalhas(consumidor, lote.subList(0, meio), falharam);
+                entregarIsolandoFalhas(consumidor, lote.subList(meio, lote.size()), falharam);
+                return;
+            }
+            EventoOutbox evento = lote.get(0);
+            log.warn("[DespachanteOutbox] consumidor {} falhou no evento {}: {}", consumidor.nome(), evento.getId(), ex.toString());
+            eventoOutboxRepository.registrarFalha(List.of(evento.getId()), consumidor.nome() + ": " + resumo(ex));
+            falharam.add(evento.getId());
+        }
+    }
+
+    private void entregar(ConsumidorOutbox consumidor, List<EventoOutbox> relevantes) {
+        Set<Long> jaConsumidos = eventoConsumidoRepository.findEventoIdsConsumidos(consumidor.nome(),
+            relevantes.stream().map(EventoOutbox::getId).collect(Collectors.toList()));
+        List<EventoOutbox> novos = relevantes.stream().filter(e -> !jaConsumidos.contains(e.getId())).toList();
+        if (novos.isEmpty()) return;
+        consumidor.processar(novos);
+        eventoConsumidoRepository.saveAll(novos.stream().map(e -> new EventoConsumido(consumidor.nome(), e.getId())).toList());
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.limpeza-intervalo:1h}", initialDelayString = "${outbox.limpeza-intervalo:1h}")
+    public void removerProcessadosAntigos() {
+        int removidos = eventoOutboxRepository.removerProcessadosAntesDe(Instant.now().minus(retencao));
+        if (removidos > 0) log.info("[DespachanteOutbox] {} eventos processados removidos do outbox", removidos);
+    }
+
+    private static String resumo(Throwable ex) {
+        String msg = String.valueOf(ex.getMessage());
+        return msg.length() > 900 ? msg.substring(0, 900) : msg;
+    }
+}
@@ -0,0 +1,92 @@
+package com.projeto.service;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.projeto.dto.PeriodoContrato;
+import com.projeto.model.Automovel;
+import com.projeto.repository.AutomovelRepository;
+import com.projeto.repository.ContratoRepository;
+
+/**
+ * Disponibilidade da frota por período, sobre o índice idx_contrato_automovel_periodo.
+ *
+ * Períodos são inclusivos nas duas pontas: um contrato que termina no dia X conflita com outro que começa em X.
+ * Contratos sem datas não bloqueiam o automóvel.
+ */
+@Service
+public class DisponibilidadeService {
+
+    private static final long NENHUM = -1L;
+
+    @Autowired
+    private ContratoRepository contratoRepository;
+
+    @Autowired
+    private AutomovelRepository automovelRepository;
+
+    public boolean estaLivre(Long automovelId, Date inicio, Date fim) {
+        validarPeriodo(inicio, fim);
+        return sobreposto(automovelId, inicio, fim, NENHUM) == null;
+    }
+
+    public List<Automovel> livres(Date inicio, Date fim) {
+        validarPeriodo(inicio, fim);
+        return automovelRepository.findLivres(inicio, fim);
+    }
+
+    /**
+     * Trava o automóvel até o fim da transação e recusa (409) se o período cruzar outro contrato dele.
+     * contratoId é o contrato sendo editado (null na criação), que não conflita consigo mesmo.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reservar(Long automovelId, Date inicio, Date fim, Long contratoId) {
+        validarPeriodo(inicio, fim);
+        automovelRepository.travar(List.of(automovelId));
+        Long conflito = sobreposto(automovelId, inicio, fim, contratoId != null ? contratoId : NENHUM);
+        if (conflito != null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                "Automóvel " + automovelId + " já está contratado no período (contrato " + conflito + ")");
+        }
+    }
+
+    /**
+     * Id de um contrato do automóvel que cruza [inicio, fim], ou null. reservar garante que os contratos de um
+     * automóvel não se cruzam, então ordenados por data de fim também estão ordenados por início: basta o primeiro
+     * que termina a partir de inicio, uma descida no índice em vez de varrer todo o histórico futuro do carro.
+     */
+    private Long sobreposto(Long automovelId, Date inicio, Date fim, Long ignorarId) {
+        List<PeriodoContrato> primeiro = contratoRepository.findPrimeiroAPartirDe(automovelId, inicio, ignorarId, Limit.of(1));
+        if (primeiro.isEmpty()) return null;
+        PeriodoContrato c = primeiro.get(0);
+        return c.dataInicio() != null && !c.dataInicio().after(fim) ? c.id() : null;
+    }
+
+    /** Versão em lote de reservar: trava todos os automóveis e devolve os que já estão ocupados no período. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Set<Long> travarOcupados(Collection<Long> automovelIds, Date inicio, Date fim) {
+        validarPeriodo(inicio, fim);
+        if (automovelIds.isEmpty()) return Set.of();
+        automovelRepository.travar(automovelIds);
+        return contratoRepository.findAutomovelIdsOcupados(automovelIds, inicio, fim);
+    }
+
+    private static void validarPeriodo(Date inicio, Date fim) {
+        if (inicio == null || fim == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe data de início e data de fim");
+        }
+        if (inicio.after(fim)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Data de início posterior à data de fim");
+        }
+    }
+}
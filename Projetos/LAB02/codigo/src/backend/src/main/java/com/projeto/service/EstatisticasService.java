@@ -0,0 +1,202 @@
+package com.projeto.service;
+
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.projeto.config.Transacoes;
+import com.projeto.dto.CreditoAgente;
+import com.projeto.dto.EstatisticasDashboard;
+import com.projeto.model.Contrato;
+import com.projeto.model.Credito;
+import com.projeto.model.Pedido;
+import com.projeto.repository.ContratoRepository;
+import com.projeto.repository.CreditoRepository;
+import com.projeto.repository.PedidoRepository;
+
+/**
+ * Contadores do dashboard (pedidos por status, contratos vigentes, crédito aprovado por agente) mantidos em memória
+ * com LongAdder: os serviços de escrita aplicam a variação após o commit e o GET /stats só soma os adders.
+ *
+ * Caminhos que não passam pelos serviços (remoção em cascata de usuários, SQL manual) e contratos que entram ou
+ * saem de vigência com a virada do dia são corrigidos pela recontagem a partir das tabelas, feita na subida e a
+ * cada estatisticas.reconciliacao.intervalo. Escritas concorrentes com a recontagem podem deixar um desvio
+ * pequeno até a recontagem seguinte.
+ */
+@Service
+public class EstatisticasService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstatisticasService.class);
+
+    private final Map<Pedido.StatusPedido, LongAdder> pedidosPorStatus = new EnumMap<>(Pedido.StatusPedido.class);
+    private final LongAdder contratosVigentes = new LongAdder();
+    // valores em centavos, para a soma incremental não acumular erro de ponto flutuante
+    private final Map<Long, CreditoAcumulado> creditoPorAgente = new ConcurrentHashMap<>();
+    private volatile Instant reconciliadoEm;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ContratoRepository contratoRepository;
+
+    @Autowired
+    private CreditoRepository creditoRepository;
+
+    public EstatisticasService() {
+        // preenchido uma vez; depois só os adders mudam, então o EnumMap pode ser lido sem sincronização
+        for (Pedido.StatusPedido s : Pedido.StatusPedido.values()) pedidosPorStatus.put(s, new LongAdder());
+    }
+
+    public EstatisticasDashboard resumo() {
+        Map<String, Long> porStatus = new LinkedHashMap<>();
+        pedidosPorStatus.forEach((status, n) -> porStatus.put(status.toJson(), n.sum()));
+        List<CreditoAgente> creditos = new ArrayList<>(creditoPorAgente.size());
+        creditoPorAgente.forEach((agenteId, c) -> {
+            long quantidade = c.creditos.sum();
+            if (quantidade > 0) creditos.add(new CreditoAgente(agenteId, quantidade, c.centavos.sum() / 100.0));
+        });
+        creditos.sort(Comparator.comparingDouble(CreditoAgente::valorAprovado).reversed().thenComparingLong(CreditoAgente::agenteId));
+        return new EstatisticasDashboard(pedidosPorStatus.get(Pedido.StatusPedido.Em_analise).sum(),
+            porStatus, contratosVigentes.sum(), creditos, reconciliadoEm);
+    }
+
+    // --- variações aplicadas pelos serviços de escrita (após o commit, quando houver transação) ---
+
+    /** anterior == null: pedido novo; novo == null: pedido removido. */
+    public void pedidoAlterado(Pedido.StatusPedido anterior, Pedido.StatusPedido novo) {
+        if (anterior == novo) return;
+        Transacoes.aposCommit(() -> {
+            if (anterior != null) pedidosPorStatus.get(anterior).decrement();
+            if (novo != null) pedidosPorStatus.get(novo).increment();
+        });
+    }
+
+    public void pedidosCriados(Map<Pedido.StatusPedido, Long> quantidadePorStatus) {
+        if (quantidadePorStatus.isEmpty()) return;
+        Transacoes.aposCommit(() -> quantidadePorStatus.forEach((status, n) -> pedidosPorStatus.get(status).add(n)));
+    }
+
+    /** Vigência antes e depois da escrita (false para contrato novo ou removido). */
+    public void contratoAlterado(boolean vigenteAntes, boolean vigenteDepois) {
+        if (vigenteAntes == vigenteDepois) return;
+        Transacoes.aposCommit(() -> contratosVigentes.add(vigenteDepois ? 1 : -1));
+    }
+
+    public void contratosCriados(int vigentes) {
+        if (vigentes > 0) Transacoes.aposCommit(() -> contratosVigentes.add(vigentes));
+    }
+
+    /** Termos antes e depois da escrita (null para crédito novo ou removido). */
+    public void creditoAlterado(TermoAgente anterior, TermoAgente novo) {
+        if (anterior == null && novo == null) return;
+        Transacoes.aposCommit(() -> {
+            if (anterior != null) acumulado(anterior.agenteId()).somar(-1, -anterior.centavos());
+            if (novo != null) acumulado(novo.agenteId()).somar(1, novo.centavos());
+        });
+    }
+
+    // Contrato vigente hoje: datas inclusivas, como em ContratoRepository.countVigentes
+    public static boolean vigente(Contrato contrato) {
+        if (contrato == null || contrato.getDataInicio() == null || contrato.getDataFim() == null) return false;
+        LocalDate hoje = LocalDate.now();
+        return !dia(contrato.getDataInicio()).isAfter(hoje) && !dia(contrato.getDataFim()).isBefore(hoje);
+    }
+
+    /** Parte do crédito que entra nos contadores, ou null se ele não conta (sem banco ou sem valor). */
+    public static TermoAgente termo(Credito credito) {
+        if (credito == null || credito.getBanco() == null || credito.getBanco().getId() == null || credito.getValorAprovado() == null) {
+            return null;
+        }
+        return new TermoAgente(credito.getBanco().getId(), Math.round(credito.getValorAprovado() * 100));
+    }
+
+    public record TermoAgente(long agenteId, long centavos) {
+    }
+
+    // --- recontagem ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        reconciliar();
+    }
+
+    @Scheduled(fixedDelayString = "${estatisticas.reconciliacao.intervalo:10m}",
+               initialDelayString = "${estatisticas.reconciliacao.intervalo:10m}")
+    public void reconciliar() {
+        long desvio = 0;
+
+        Map<Pedido.StatusPedido, Long> contagem = new EnumMap<>(Pedido.StatusPedido.class);
+        for (Object[] linha : pedidoRepository.contarPorStatus()) {
+            if (linha[0] != null) contagem.put((Pedido.StatusPedido) linha[0], (Long) linha[1]);
+        }
+        for (Map.Entry<Pedido.StatusPedido, LongAdder> e : pedidosPorStatus.entrySet()) {
+            desvio += substituir(e.getValue(), contagem.getOrDefault(e.getKey(), 0L));
+        }
+
+        desvio += substituir(contratosVigentes, contratoRepository.countVigentes(Date.valueOf(LocalDate.now())));
+
+        Set<Long> agentes = new HashSet<>();
+        for (CreditoAgente c : creditoRepository.somarPorAgente()) {
+            agentes.add(c.agenteId());
+            CreditoAcumulado a = acumulado(c.agenteId());
+            desvio += substituir(a.creditos, c.creditos());
+            substituir(a.centavos, Math.round(c.valorAprovado() * 100));
+        }
+        // agentes sem nenhum crédito no banco (removidos, por exemplo) saem do mapa
+        for (Map.Entry<Long, CreditoAcumulado> e : creditoPorAgente.entrySet()) {
+            if (!agentes.contains(e.getKey())) desvio += Math.abs(e.getValue().creditos.sum());
+        }
+        creditoPorAgente.keySet().retainAll(agentes);
+
+        if (reconciliadoEm != null && desvio != 0) {
+            log.info("[Estatisticas] recontagem corrigiu {} unidades de desvio nos contadores", desvio);
+        }
+        reconciliadoEm = Instant.now();
+    }
+
+    // Troca o valor do adder pelo recontado; devolve o desvio absoluto encontrado
+    private static long substituir(LongAdder adder, long valor) {
+        long atual = adder.sumThenReset();
+        adder.add(valor);
+        return Math.abs(atual - valor);
+    }
+
+    private CreditoAcumulado acumulado(long agenteId) {
+        return creditoPorAgente.computeIfAbsent(agenteId, id -> new CreditoAcumulado());
+    }
+
+    private static LocalDate dia(java.util.Date data) {
+        // java.sql.Date não suporta toInstant()
+        return LocalDate.ofInstant(Instant.ofEpochMilli(data.getTime()), ZoneId.systemDefault());
+    }
+
+    private static final class CreditoAcumulado {
+        final LongAdder creditos = new LongAdder();
+        final LongAdder centavos = new LongAdder();
+
+        void somar(long quantidade, long valorCentavos) {
+            creditos.add(quantidade);
+            centavos.add(valorCentavos);
+        }
+    }
+}
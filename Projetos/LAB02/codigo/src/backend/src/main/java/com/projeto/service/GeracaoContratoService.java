@@ -0,0 +1,179 @@
+package com.projeto.service;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.projeto.dto.ContratoEvento;
+import com.projeto.dto.PedidoEvento;
+import com.projeto.model.Agente;
+import com.projeto.model.Contrato;
+import com.projeto.model.EventoOutbox;
+import com.projeto.model.Pedido;
+import com.projeto.model.Usuario;
+import com.projeto.repository.ContratoRepository;
+import com.projeto.repository.PedidoRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Gera o Contrato de cada pedido aprovado, em lotes.
+ *
+ * Roda como consumidor do outbox (evento pedido.status com APROVADO), na mesma transação que grava o
+ * registro de idempotência, e também sob demanda para reprocessar aprovados que ficaram sem contrato.
+ * Pedidos que já têm contrato são filtrados antes do INSERT; se duas execuções disputarem o mesmo pedido,
+ * a restrição única do @OneToOne (contrato.pedido) derruba a segunda. Pedidos cujo automóvel já está
+ * contratado no período gerado ficam sem contrato (e voltam a ser tentados no reprocessamento).
+ */
+@Service
+public class GeracaoContratoService implements ConsumidorOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(GeracaoContratoService.class);
+
+    @Autowired
+    private ContratoRepository contratoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private DisponibilidadeService disponibilidadeService;
+
+    @Autowired
+    private EstatisticasService estatisticasService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${contrato.geracao.automatica:true}")
+    private boolean automatica;
+
+    @Value("${contrato.geracao.lote:500}")
+    private int tamanhoLote;
+
+    @Value("${contrato.geracao.duracao-meses:12}")
+    private int duracaoMeses;
+
+    @Override
+    public String nome() {
+        return "geracao-contrato";
+    }
+
+    @Override
+    public boolean interessa(String tipoEvento) {
+        return automatica && EventoOutbox.PEDIDO_STATUS.equals(tipoEvento);
+    }
+
+    @Override
+    public void processar(List<EventoOutbox> eventos) {
+        Set<Long> aprovados = new LinkedHashSet<>();
+        for (EventoOutbox e : eventos) {
+            PedidoEvento p = outboxService.lerPayload(e, PedidoEvento.class);
+            if (p.status() == Pedido.StatusPedido.Aprovado) aprovados.add(p.id());
+        }
+        int criados = gerarParaPedidos(aprovados);
+        if (criados > 0) log.info("[GeracaoContrato] {} contratos gerados a partir de {} eventos", criados, eventos.size());
+    }
+
+    /** Cria os contratos que faltam para os pedidos informados (só os que estão aprovados); retorna quantos criou. */
+    @Transactional
+    public int gerarParaPedidos(Collection<Long> pedidoIds) {
+        if (pedidoIds.isEmpty()) return 0;
+        Set<Long> pendentes = new LinkedHashSet<>(pedidoIds);
+        pendentes.removeAll(contratoRepository.findPedidoIdsComContrato(pedidoIds));
+
+        Calendar cal = Calendar.getInstance();
+        Date dataInicio = cal.getTime();
+        cal.add(Calendar.MONTH, duracaoMeses);
+        Date dataFim = cal.getTime();
+
+        int criados = 0;
+        int vigentes = 0;
+        List<Long> ids = new ArrayList<>(pendentes);
+        for (int inicio = 0; inicio < ids.size(); inicio += tamanhoLote) {
+            List<Pedido> pedidos = pedidoRepository.findByIdIn(ids.subList(inicio, Math.min(inicio + tamanhoLote, ids.size())));
+            Set<Long> automovelIds = new HashSet<>();
+            for (Pedido pedido : pedidos) {
+                if (pedido.getStatus() == Pedido.StatusPedido.Aprovado && pedido.getAutomovel() != null) {
+                    automovelIds.add(pedido.getAutomovel().getId());
+                }
+            }
+            // trava os automóveis do lote de uma vez; os já contratados no período ficam sem contrato novo
+            Set<Long> ocupados = new HashSet<>(disponibilidadeService.travarOcupados(automovelIds, dataInicio, dataFim));
+            for (Pedido pedido : pedidos) {
+                if (pedido.getStatus() != Pedido.StatusPedido.Aprovado) continue;
+                if (pedido.getAutomovel() != null && !ocupados.add(pedido.getAutomovel().getId())) {
+                    log.warn("[GeracaoContrato] pedido {} sem contrato: automóvel {} já contratado no período",
+                        pedido.getId(), pedido.getAutomovel().getId());
+                    continue;
+                }
+                // valor não é conhecido na aprovação (o automóvel não tem preço); é informado depois pelo PUT /contratos/{id}
+                Contrato contrato = new Contrato(pedido, tipoContrato(pedido), null, dataInicio, dataFim, pedido.getAutomovel());
+                entityManager.persist(contrato);
+                outboxService.registrar(EventoOutbox.CONTRATO_CRIADO, contrato.getId(), ContratoEvento.de(contrato));
+                if (EstatisticasService.vigente(contrato)) vigentes++;
+                criados++;
+            }
+            // um flush por lote: os INSERTs de contrato e de outbox saem agrupados pelo JDBC batching
+            entityManager.flush();
+            entityManager.clear();
+        }
+        estatisticasService.contratosCriados(vigentes);
+        return criados;
+    }
+
+    /**
+     * Percorre todos os pedidos aprovados sem contrato, um lote por transação (a falha de um lote não desfaz os
+     * anteriores). Usado no fechamento do mês ou para recuperar aprovações anteriores à geração automática.
+     */
+    public int gerarPendentes() {
+        int total = 0;
+        long after = 0;
+        while (true) {
+            List<Long> ids = contratoRepository.findPedidoIdsSemContrato(Pedido.StatusPedido.Aprovado, after, Limit.of(tamanhoLote));
+            if (ids.isEmpty()) break;
+            try {
+                total += transactionTemplate.execute(status -> gerarParaPedidos(ids));
+            } catch (DataIntegrityViolationException ex) {
+                // outra execução gerou parte deste lote ao mesmo tempo; o que faltar fica para a próxima chamada
+                log.warn("[GeracaoContrato] lote após id {} descartado por conflito: {}", after, ex.getMostSpecificCause().getMessage());
+            }
+            after = ids.get(ids.size() - 1);
+            if (ids.size() < tamanhoLote) break;
+        }
+        log.info("[GeracaoContrato] reprocessamento concluído: {} contratos gerados", total);
+        return total;
+    }
+
+    // O contrato é do tipo de quem detém o automóvel: agente empresa/banco ou, caso contrário, o próprio cliente
+    static Contrato.TipoContrato tipoContrato(Pedido pedido) {
+        Usuario proprietario = pedido.getAutomovel() != null ? pedido.getAutomovel().getProprietario() : null;
+        if (Hibernate.unproxy(proprietario) instanceof Agente agente && agente.getTipoAgente() != null) {
+            return agente.getTipoAgente() == Agente.TipoAgente.Banco ? Contrato.TipoContrato.Banco : Contrato.TipoContrato.Empresa;
+        }
+        return Contrato.TipoContrato.Cliente;
+    }
+}
@@ -0,0 +1,48 @@
+package com.projeto.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.projeto.dto.ContratoEvento;
+import com.projeto.dto.PedidoEvento;
+import com.projeto.model.EventoOutbox;
+
+/**
+ * Notificações de decisão de pedido e de contrato criado. Ainda não há canal de envio (e-mail/push),
+ * então a notificação é registrada no log; o ponto de extensão é este método.
+ */
+@Service
+public class NotificacaoConsumidor implements ConsumidorOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificacaoConsumidor.class);
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Override
+    public String nome() {
+        return "notificacao";
+    }
+
+    @Override
+    public boolean interessa(String tipoEvento) {
+        return EventoOutbox.PEDIDO_STATUS.equals(tipoEvento) || EventoOutbox.CONTRATO_CRIADO.equals(tipoEvento);
+    }
+
+    @Override
+    public void processar(List<EventoOutbox> eventos) {
+        for (EventoOutbox e : eventos) {
+            if (EventoOutbox.PEDIDO_STATUS.equals(e.getTipo())) {
+                PedidoEvento p = outboxService.lerPayload(e, PedidoEvento.class);
+                log.info("[Notificacao] cliente {}: pedido {} agora está {}", p.clienteId(), p.id(), p.status().toJson());
+            } else {
+                ContratoEvento c = outboxService.lerPayload(e, ContratoEvento.class);
+                log.info("[Notificacao] contrato {} criado para o pedido {}", c.id(), c.pedidoId());
+            }
+        }
+    }
+}
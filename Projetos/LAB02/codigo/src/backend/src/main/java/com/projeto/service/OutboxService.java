@@ -0,0 +1,40 @@
+package com.projeto.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.projeto.model.EventoOutbox;
+import com.projeto.repository.EventoOutboxRepository;
+
+@Service
+public class OutboxService {
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // MANDATORY: o evento só existe se a alteração que o originou for confirmada, e vice-versa
+    @Transactional(propagation = Propagation.MANDATORY)
+    public EventoOutbox registrar(String tipo, Long agregadoId, Object payload) {
+        try {
+            return eventoOutboxRepository.save(new EventoOutbox(tipo, agregadoId, objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Payload de evento não serializável: " + tipo, e);
+        }
+    }
+
+    public <T> T lerPayload(EventoOutbox evento, Class<T> tipo) {
+        try {
+            return objectMapper.readValue(evento.getPayload(), tipo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Payload inválido no evento " + evento.getId(), e);
+        }
+    }
+}
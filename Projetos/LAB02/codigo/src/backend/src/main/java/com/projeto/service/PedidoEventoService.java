@@ -0,0 +1,187 @@
+package com.projeto.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.projeto.config.Transacoes;
+import com.projeto.dto.PedidoEvento;
+import com.projeto.model.Pedido;
+
+/**
+ * Distribui eventos de Pedido (criação e mudança de status) para os assinantes SSE.
+ *
+ * Quem publica nunca espera pela rede: o evento entra na fila limitada de cada assinante e a
+ * escrita no socket acontece num pool próprio, para que sockets lentos não ocupem o executor
+ * de tarefas compartilhado da aplicação. Se um navegador lento deixar a
+ * fila encher, os eventos pendentes são descartados e ele recebe um único "ressincronizar",
+ * indicando que deve recarregar a lista pelo GET; assim a memória por assinante é fixa.
+ */
+@Service
+public class PedidoEventoService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PedidoEventoService.class);
+
+    static final String RESSINCRONIZAR = "ressincronizar";
+
+    // Uma tarefa pendente por assinante no máximo (ver Assinante.drenando); a fila só transborda acima de max-assinantes
+    private final ThreadPoolTaskExecutor executor;
+
+    @Value("${pedido.eventos.buffer:256}")
+    private int tamanhoBuffer;
+
+    @Value("${pedido.eventos.max-assinantes:1000}")
+    private int maxAssinantes;
+
+    @Value("${pedido.eventos.timeout:30m}")
+    private Duration timeout;
+
+    private final List<Assinante> assinantes = new CopyOnWriteArrayList<>();
+
+    public PedidoEventoService(@Value("${pedido.eventos.threads:4}") int threads,
+                               @Value("${pedido.eventos.queue-capacity:1000}") int fila) {
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(threads);
+        this.executor.setMaxPoolSize(threads);
+        this.executor.setQueueCapacity(fila);
+        this.executor.setThreadNamePrefix("sse-");
+        this.executor.initialize();
+    }
+
+    /** Filtros opcionais: null em clienteId/status significa "todos". */
+    public SseEmitter assinar(Long clienteId, Set<Pedido.StatusPedido> status) {
+        if (assinantes.size() >= maxAssinantes) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Limite de assinantes de eventos atingido");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Assinante a = new Assinante(emitter, clienteId, status, tamanhoBuffer);
+        assinantes.add(a);
+        emitter.onCompletion(() -> assinantes.remove(a));
+        emitter.onTimeout(() -> { assinantes.remove(a); emitter.complete(); });
+        emitter.onError(e -> assinantes.remove(a));
+        try {
+            // Comentário inicial: força o envio dos cabeçalhos, confirmando a assinatura antes do primeiro evento
+            emitter.send(SseEmitter.event().comment("conectado"));
+        } catch (IOException e) {
+            assinantes.remove(a);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    // Encerra as conexões abertas antes do desligamento gracioso do servidor, que senão esperaria cada SSE até o limite
+    @EventListener(ContextClosedEvent.class)
+    public void encerrarAssinaturas() {
+        for (Assinante a : assinantes) {
+            assinantes.remove(a);
+            a.fila.clear();
+            try {
+                a.emitter.complete();
+            } catch (IllegalStateException ignorada) {
+                // resposta já encerrada pelo cliente
+            }
+        }
+    }
+
+    public int totalAssinantes() {
+        return assinantes.size();
+    }
+
+    // Dentro de uma transação, só publica após o commit (um rollback não gera evento)
+    public void publicarAposCommit(String tipo, Pedido pedido) {
+        PedidoEvento evento = PedidoEvento.de(tipo, pedido);
+        Transacoes.aposCommit(() -> publicar(evento));
+    }
+
+    public void publicar(PedidoEvento evento) {
+        for (Assinante a : assinantes) {
+            if (a.aceita(evento) && a.enfileirar(evento)) {
+                try {
+                    executor.execute(() -> drenar(a));
+                } catch (TaskRejectedException e) {
+                    // pool saturado: o assinante perde os pendentes e ressincroniza na próxima drenagem
+                    a.fila.clear();
+                    a.transbordou.set(true);
+                    a.drenando.set(false);
+                }
+            }
+        }
+    }
+
+    // Envia o que estiver na fila; só uma tarefa drena cada assinante por vez, preservando a ordem
+    private void drenar(Assinante a) {
+        do {
+            try {
+                if (a.transbordou.getAndSet(false)) {
+                    a.emitter.send(SseEmitter.event().name(RESSINCRONIZAR).data(""));
+                }
+                PedidoEvento e;
+                while ((e = a.fila.poll()) != null) {
+                    a.emitter.send(SseEmitter.event().name(e.tipo()).id(String.valueOf(e.id())).data(e));
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // conexão fechada pelo cliente: descarta o assinante
+                log.debug("[PedidoEventoService] assinante desconectado: {}", ex.getMessage());
+                assinantes.remove(a);
+                a.fila.clear();
+                a.emitter.completeWithError(ex);
+                return;
+            } finally {
+                a.drenando.set(false);
+            }
+        } while ((!a.fila.isEmpty() || a.transbordou.get()) && a.drenando.compareAndSet(false, true));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private static final class Assinante {
+        final SseEmitter emitter;
+        final Long clienteId;
+        final Set<Pedido.StatusPedido> status;
+        final BlockingQueue<PedidoEvento> fila;
+        final AtomicBoolean drenando = new AtomicBoolean();
+        final AtomicBoolean transbordou = new AtomicBoolean();
+
+        Assinante(SseEmitter emitter, Long clienteId, Set<Pedido.StatusPedido> status, int capacidade) {
+            this.emitter = emitter;
+            this.clienteId = clienteId;
+            this.status = status;
+            this.fila = new ArrayBlockingQueue<>(capacidade);
+        }
+
+        boolean aceita(PedidoEvento e) {
+            return (clienteId == null || clienteId.equals(e.clienteId()))
+                && (status == null || status.isEmpty() || status.contains(e.status()));
+        }
+
+        // Retorna true se o chamador deve agendar a drenagem
+        boolean enfileirar(PedidoEvento e) {
+            if (!fila.offer(e)) {
+                fila.clear();
+                transbordou.set(true);
+            }
+            return drenando.compareAndSet(false, true);
+        }
+    }
+}
@@ -1,30 +1,60 @@
 package com.projeto.service;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.projeto.cache.VersaoTabelas;
+import com.projeto.cache.VersaoTabelas.Tabela;
+import com.projeto.dto.PedidoEvento;
+import com.projeto.dto.PedidoLoteResultado;
+import com.projeto.dto.PedidoResumo;
 import com.projeto.model.Automovel;
+import com.projeto.model.EventoOutbox;
 import com.projeto.model.Pedido;
 import com.projeto.model.Usuario;
 import com.projeto.repository.AutomovelRepository;
 import com.projeto.repository.PedidoRepository;
 import com.projeto.repository.UsuarioRepository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
 @Service
 public class PedidoService {
 
     private static final Logger log = LoggerFactory.getLogger(PedidoService.class);
 
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 500;
+
+    // A cada quantas linhas o contexto de persistência é limpo durante o streaming
+    private static final int LOTE_STREAMING = 500;
+
+    // Flush/clear a cada N pedidos no lote: limita o contexto de persistência (cada flush gera N/batch_size lotes JDBC)
+    private static final int LOTE_INSERCAO = 500;
+
     @Autowired
     private PedidoRepository pedidoRepository;
 
@@ -34,12 +64,34 @@ public class PedidoService {
     @Autowired
     private AutomovelRepository automovelRepository;
 
+    @Autowired
+    private AutomovelService automovelService;
+
+    @Autowired
+    private PedidoEventoService pedidoEventoService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private EstatisticasService estatisticasService;
+
+    @Autowired
+    private VersaoTabelas versaoTabelas;
+
     @Autowired
     private Environment env;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${pedido.lote.max-itens:10000}")
+    private int maxItensLote;
+
     @Transactional
     public Pedido salvar(Pedido pedido) {
         boolean isDev = java.util.Arrays.asList(env.getActiveProfiles()).contains("dev");
+        boolean novo = pedido.getId() == null;
 
     log.debug("[PedidoService] Recebido para salvar: clienteId={}, automovelId={}, status={}, data={}",
         pedido.getCliente()!=null?pedido.getCliente().getId():null,
@@ -74,7 +126,7 @@ public class PedidoService {
         // Resolve automovel (FK) if only id was provided
         if (pedido.getAutomovel() != null && pedido.getAutomovel().getId() != null) {
             Long automovelId = pedido.getAutomovel().getId();
-            Automovel automovel = automovelRepository.findById(automovelId).orElse(null);
+            Automovel automovel = automovelService.buscarPorId(automovelId).orElse(null); // catálogo em cache
             if (automovel == null) {
                 if (isDev) {
                     automovel = automovelRepository.findAll().stream().findFirst().orElse(null);
@@ -85,17 +137,93 @@ public class PedidoService {
             pedido.setAutomovel(automovel);
         }
 
-        // Defaults
+        aplicarPadroes(pedido);
+
+        Pedido.StatusPedido anterior = novo ? null : pedidoRepository.findStatusById(pedido.getId()).orElse(null);
+        Pedido salvo = pedidoRepository.save(pedido);
+        estatisticasService.pedidoAlterado(anterior, salvo.getStatus());
+        versaoTabelas.alterada(Tabela.PEDIDO);
+        log.debug("[PedidoService] Pedido salvo id={} status={} data={}", salvo.getId(), salvo.getStatus(), salvo.getDataPedido());
+        pedidoEventoService.publicarAposCommit(novo ? PedidoEvento.CRIADO : PedidoEvento.ATUALIZADO, salvo);
+        return salvo;
+    }
+
+    // Entrada em lote: resolve todos os clientes e automóveis com um SELECT ... IN cada
+    // e insere com JDBC batching. Itens inválidos são reportados sem abortar os demais.
+    @Transactional
+    public List<PedidoLoteResultado> salvarLote(List<Pedido> pedidos) {
+        if (pedidos.size() > maxItensLote) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "Lote com " + pedidos.size() + " itens excede o máximo de " + maxItensLote);
+        }
+
+        Set<Long> clienteIds = new HashSet<>();
+        Set<Long> automovelIds = new HashSet<>();
+        for (Pedido p : pedidos) {
+            if (p != null && p.getCliente() != null && p.getCliente().getId() != null) clienteIds.add(p.getCliente().getId());
+            if (p != null && p.getAutomovel() != null && p.getAutomovel().getId() != null) automovelIds.add(p.getAutomovel().getId());
+        }
+        Map<Long, Usuario> clientes = clienteIds.isEmpty() ? Map.of() : usuarioRepository.findAllById(clienteIds).stream()
+            .collect(Collectors.toMap(Usuario::getId, Function.identity()));
+        Map<Long, Automovel> automoveis = automovelIds.isEmpty() ? Map.of() : automovelRepository.findByIdIn(automovelIds).stream()
+            .collect(Collectors.toMap(Automovel::getId, Function.identity()));
+
+        List<PedidoLoteResultado> resultados = new ArrayList<>(pedidos.size());
+        List<Integer> indicesValidos = new ArrayList<>();
+        List<Pedido> validos = new ArrayList<>();
+        for (int i = 0; i < pedidos.size(); i++) {
+            Pedido p = pedidos.get(i);
+            String erro = validarItemLote(p, clientes, automoveis);
+            if (erro != null) {
+                resultados.add(PedidoLoteResultado.falha(i, erro));
+                continue;
+            }
+            p.setId(null);
+            p.setCliente(clientes.get(p.getCliente().getId()));
+            p.setAutomovel(automoveis.get(p.getAutomovel().getId()));
+            aplicarPadroes(p);
+            resultados.add(null); // preenchido após o insert
+            indicesValidos.add(i);
+            validos.add(p);
+        }
+
+        for (int n = 0; n < validos.size(); n++) {
+            entityManager.persist(validos.get(n));
+            if ((n + 1) % LOTE_INSERCAO == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        Map<Pedido.StatusPedido, Long> criadosPorStatus = new EnumMap<>(Pedido.StatusPedido.class);
+        for (int n = 0; n < validos.size(); n++) {
+            criadosPorStatus.merge(validos.get(n).getStatus(), 1L, Long::sum);
+            int i = indicesValidos.get(n);
+            resultados.set(i, PedidoLoteResultado.criado(i, validos.get(n).getId()));
+            pedidoEventoService.publicarAposCommit(PedidoEvento.CRIADO, validos.get(n));
+        }
+        estatisticasService.pedidosCriados(criadosPorStatus);
+        if (!validos.isEmpty()) versaoTabelas.alterada(Tabela.PEDIDO);
+        log.debug("[PedidoService] salvarLote: {} recebidos, {} criados", pedidos.size(), validos.size());
+        return resultados;
+    }
+
+    private String validarItemLote(Pedido p, Map<Long, Usuario> clientes, Map<Long, Automovel> automoveis) {
+        if (p == null) return "Pedido vazio";
+        if (p.getCliente() == null || p.getCliente().getId() == null) return "cliente.id é obrigatório";
+        if (p.getAutomovel() == null || p.getAutomovel().getId() == null) return "automovel.id é obrigatório";
+        if (!clientes.containsKey(p.getCliente().getId())) return "Cliente não encontrado: id=" + p.getCliente().getId();
+        if (!automoveis.containsKey(p.getAutomovel().getId())) return "Automóvel não encontrado: id=" + p.getAutomovel().getId();
+        return null;
+    }
+
+    private void aplicarPadroes(Pedido pedido) {
         if (pedido.getStatus() == null) {
             pedido.setStatus(Pedido.StatusPedido.Em_analise);
         }
         if (pedido.getDataPedido() == null) {
             pedido.setDataPedido(new Date());
         }
-
-        Pedido salvo = pedidoRepository.save(pedido);
-        log.debug("[PedidoService] Pedido salvo id={} status={} data={}", salvo.getId(), salvo.getStatus(), salvo.getDataPedido());
-        return salvo;
     }
 
     public List<Pedido> listarTodos() {
@@ -104,24 +232,125 @@ public class PedidoService {
         return todos;
     }
 
+    // Página de pedidos com id > after, em ordem de id (paginação por cursor)
+    public List<Pedido> listarPagina(Long after, Integer limit) {
+        long cursor = after != null ? after : 0L;
+        return pedidoRepository.findPaginaAposId(cursor, Limit.of(normalizarLimite(limit)));
+    }
+
+    // Mesma paginação, mas em projeção (colunas do dashboard) resolvida em um único SELECT
+    public List<PedidoResumo> listarResumo(Long after, Integer limit) {
+        long cursor = after != null ? after : 0L;
+        return pedidoRepository.findResumoAposId(cursor, Limit.of(normalizarLimite(limit)));
+    }
+
+    public List<PedidoResumo> listarResumoPorCliente(Long clienteId) {
+        return pedidoRepository.findResumoPorCliente(clienteId);
+    }
+
+    // Fila de um status ordenada por (dataPedido, id), paginada pelo id do último item da página anterior
+    public List<Pedido> listarPorStatus(Pedido.StatusPedido status, Long after, Integer limit) {
+        Limit l = Limit.of(normalizarLimite(limit));
+        if (after == null) return pedidoRepository.findPorStatus(status, l);
+        List<Pedido> pagina = pedidoRepository.findPorStatusApos(status, after, l);
+        // só a página vazia paga a segunda consulta: fim da fila ou cursor removido, que não pode passar por fim
+        if (pagina.isEmpty() && !pedidoRepository.existsById(after)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Cursor inválido: pedido " + after + " não existe mais; recomece a fila sem after");
+        }
+        return pagina;
+    }
+
+    public static int normalizarLimite(Integer limit) {
+        return limit == null ? LIMITE_PADRAO : Math.max(1, Math.min(limit, LIMITE_MAXIMO));
+    }
+
+    // Percorre todos os pedidos via cursor JDBC sem materializar a tabela inteira em memória
+    @Transactional(readOnly = true)
+    public long percorrerTodos(Consumer<Pedido> consumidor) {
+        long total = 0;
+        try (Stream<Pedido> pedidos = pedidoRepository.streamTodos()) {
+            java.util.Iterator<Pedido> it = pedidos.iterator();
+            while (it.hasNext()) {
+                consumidor.accept(it.next());
+                if (++total % LOTE_STREAMING == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        log.debug("[PedidoService] percorrerTodos enviou {} registros", total);
+        return total;
+    }
+
     public Optional<Pedido> buscarPorId(Long id) {
         return pedidoRepository.findById(id);
     }
 
+    // Se o cliente enviar a versao lida, a atualização só é aceita se ninguém alterou o pedido desde então (409 caso contrário)
+    @Transactional
     public Optional<Pedido> atualizar(Long id, Pedido pedidoAtualizado) {
         return pedidoRepository.findById(id)
             .map(pedidoExistente -> {
+                if (pedidoAtualizado.getVersao() != null && !pedidoAtualizado.getVersao().equals(pedidoExistente.getVersao())) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, "Pedido alterado por outra requisição: id=" + id);
+                }
+                Pedido.StatusPedido anterior = pedidoExistente.getStatus();
+                // corpo sem status mantém o atual (não é uma transição para "nenhum status")
+                Pedido.StatusPedido novo = Objects.requireNonNullElse(pedidoAtualizado.getStatus(), anterior);
+                boolean mudouStatus = novo != anterior;
+                if (mudouStatus && anterior != null && !anterior.podeMudarPara(novo)) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Transição de status inválida: " + anterior.toJson() + " -> " + novo.toJson());
+                }
                 pedidoExistente.setAutomovel(pedidoAtualizado.getAutomovel());
-                pedidoExistente.setStatus(pedidoAtualizado.getStatus());
-                return pedidoRepository.save(pedidoExistente);
+                pedidoExistente.setStatus(novo);
+                Pedido salvo = pedidoRepository.save(pedidoExistente);
+                estatisticasService.pedidoAlterado(anterior, salvo.getStatus());
+                versaoTabelas.alterada(Tabela.PEDIDO);
+                if (mudouStatus) {
+                    outboxService.registrar(EventoOutbox.PEDIDO_STATUS, salvo.getId(), PedidoEvento.de(PedidoEvento.STATUS, salvo));
+                }
+                pedidoEventoService.publicarAposCommit(mudouStatus ? PedidoEvento.STATUS : PedidoEvento.ATUALIZADO, salvo);
+                return salvo;
             });
     }
 
-    public boolean deletar(Long id) {
-        if (pedidoRepository.existsById(id)) {
-            pedidoRepository.deleteById(id);
-            return true;
+    /**
+     * Muda o status com um único UPDATE condicional (sem carregar o pedido nem revalidar cliente/automóvel).
+     * Dois agentes aprovando e rejeitando ao mesmo tempo: só o primeiro vence, o outro recebe 409.
+     */
+    @Transactional
+    public Pedido alterarStatus(Long id, Pedido.StatusPedido novo) {
+        Set<Pedido.StatusPedido> origens = Pedido.StatusPedido.origensPara(novo);
+        if (origens.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Status de destino inválido: " + novo.toJson());
         }
-        return false;
+        if (pedidoRepository.atualizarStatus(id, origens, novo) == 0) {
+            // Caminho de falha: só aqui se consulta o pedido, para diferenciar 404 de 409
+            Pedido atual = pedidoRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pedido não encontrado: id=" + id));
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                "Transição de status inválida: " + atual.getStatus().toJson() + " -> " + novo.toJson());
+        }
+        Pedido atualizado = pedidoRepository.findById(id).orElseThrow();
+        // com uma única origem possível, o status anterior é conhecido sem reler o pedido; senão fica para a recontagem
+        if (origens.size() == 1) estatisticasService.pedidoAlterado(origens.iterator().next(), novo);
+        versaoTabelas.alterada(Tabela.PEDIDO);
+        // Trabalho de acompanhamento (notificação, contrato...) sai pelo outbox, na mesma transação do UPDATE
+        outboxService.registrar(EventoOutbox.PEDIDO_STATUS, id, PedidoEvento.de(PedidoEvento.STATUS, atualizado));
+        pedidoEventoService.publicarAposCommit(PedidoEvento.STATUS, atualizado);
+        return atualizado;
+    }
+
+    @Transactional
+    public boolean deletar(Long id) {
+        return pedidoRepository.findById(id)
+            .map(pedido -> {
+                pedidoRepository.delete(pedido);
+                estatisticasService.pedidoAlterado(pedido.getStatus(), null);
+                versaoTabelas.alterada(Tabela.PEDIDO);
+                return true;
+            })
+            .orElse(false);
     }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.projeto.service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.projeto.cache.RelatorioCache;
+import com.projeto.dto.AprovacaoAgente;
+import com.projeto.dto.ReceitaMensal;
+import com.projeto.dto.UtilizacaoAutomovel;
+import com.projeto.repository.ContratoRepository;
+import com.projeto.repository.PedidoRepository;
+
+/**
+ * Relatórios para dashboards: cada um é um único GROUP BY no banco, guardado por janela de tempo no RelatorioCache.
+ * As listas devolvidas são imutáveis, pois são compartilhadas entre as requisições da mesma janela.
+ */
+@Service
+public class RelatorioService {
+
+    public static final int LIMITE_PADRAO = 100;
+    public static final int LIMITE_MAXIMO = 1000;
+
+    @Autowired
+    private ContratoRepository contratoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private RelatorioCache relatorioCache;
+
+    // Sem período: os últimos 12 meses, incluindo o atual
+    public List<ReceitaMensal> receitaMensal(LocalDate de, LocalDate ate) {
+        LocalDate fim = ate != null ? ate : LocalDate.now();
+        LocalDate inicio = de != null ? de : fim.withDayOfMonth(1).minusMonths(11);
+        validarPeriodo(inicio, fim);
+        return relatorioCache.obter("receita-mensal:" + inicio + ":" + fim,
+            () -> List.copyOf(contratoRepository.receitaPorMes(Date.valueOf(inicio), Date.valueOf(fim))));
+    }
+
+    public List<AprovacaoAgente> aprovacaoPorAgente() {
+        return relatorioCache.obter("aprovacao-agentes", () -> List.copyOf(pedidoRepository.aprovacaoPorAgente()));
+    }
+
+    // Sem período: os últimos 30 dias; automóveis mais utilizados primeiro
+    public List<UtilizacaoAutomovel> utilizacaoPorAutomovel(LocalDate de, LocalDate ate, Integer limit) {
+        LocalDate fim = ate != null ? ate : LocalDate.now();
+        LocalDate inicio = de != null ? de : fim.minusDays(29);
+        validarPeriodo(inicio, fim);
+        int n = limit == null ? LIMITE_PADRAO : Math.max(1, Math.min(limit, LIMITE_MAXIMO));
+        long diasJanela = ChronoUnit.DAYS.between(inicio, fim) + 1;
+        return relatorioCache.obter("utilizacao:" + inicio + ":" + fim + ":" + n,
+            () -> contratoRepository.utilizacaoPorAutomovel(Date.valueOf(inicio), Date.valueOf(fim), Limit.of(n)).stream()
+                .map(u -> u.comJanela(diasJanela)).toList());
+    }
+
+    private static void validarPeriodo(LocalDate de, LocalDate ate) {
+        if (de.isAfter(ate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Data inicial posterior à data final");
+        }
+    }
+}
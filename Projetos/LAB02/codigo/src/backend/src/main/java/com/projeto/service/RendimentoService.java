@@ -1,5 +1,6 @@
 package com.projeto.service;
 
+import com.projeto.cache.ScoreCreditoCache;
 import com.projeto.model.Rendimento;
 import com.projeto.model.Usuario;
 import com.projeto.repository.UsuarioRepository;
@@ -19,6 +20,10 @@ public class RendimentoService {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    // Score de crédito depende da renda: toda escrita em rendimento invalida o score do dono
+    @Autowired
+    private ScoreCreditoCache scoreCreditoCache;
+
     public Rendimento salvar(Rendimento rendimento) {
         // Se veio apenas o ID do usuário, carregar entidade gerenciada para evitar TransientPropertyValueException
         if (rendimento.getUsuario() != null && rendimento.getUsuario().getId() != null) {
@@ -27,7 +32,9 @@ public class RendimentoService {
                 .orElseThrow(() -> new IllegalArgumentException("Usuario associado ao rendimento não encontrado: id=" + uid));
             rendimento.setUsuario(managed);
         }
-        return rendimentoRepository.save(rendimento);
+        Rendimento salvo = rendimentoRepository.save(rendimento);
+        if (salvo.getUsuario() != null) scoreCreditoCache.invalidarAposCommit(salvo.getUsuario().getId());
+        return salvo;
     }
 
     public List<Rendimento> listarTodos() {
@@ -39,7 +46,9 @@ public class RendimentoService {
     }
 
     public Optional<Rendimento> atualizar(Long id, Rendimento rendimentoAtualizado) {
-        if (rendimentoRepository.existsById(id)) {
+        Optional<Rendimento> existente = rendimentoRepository.findById(id);
+        if (existente.isPresent()) {
+            if (existente.get().getUsuario() != null) scoreCreditoCache.invalidarAposCommit(existente.get().getUsuario().getId());
             rendimentoAtualizado.setId(id);
             if (rendimentoAtualizado.getUsuario() != null && rendimentoAtualizado.getUsuario().getId() != null) {
                 Long uid = rendimentoAtualizado.getUsuario().getId();
@@ -47,16 +56,20 @@ public class RendimentoService {
                         .orElseThrow(() -> new IllegalArgumentException("Usuario associado ao rendimento não encontrado: id=" + uid));
                 rendimentoAtualizado.setUsuario(managed);
             }
-            return Optional.of(rendimentoRepository.save(rendimentoAtualizado));
+            Rendimento salvo = rendimentoRepository.save(rendimentoAtualizado);
+            if (salvo.getUsuario() != null) scoreCreditoCache.invalidarAposCommit(salvo.getUsuario().getId());
+            return Optional.of(salvo);
         }
         return Optional.empty();
     }
 
     public boolean deletar(Long id) {
-        if (rendimentoRepository.existsById(id)) {
-            rendimentoRepository.deleteById(id);
-            return true;
-        }
-        return false;
+        return rendimentoRepository.findById(id)
+            .map(r -> {
+                rendimentoRepository.delete(r);
+                if (r.getUsuario() != null) scoreCreditoCache.invalidarAposCommit(r.getUsuario().getId());
+                return true;
+            })
+            .orElse(false);
     }
 }
\ No newline at end of file
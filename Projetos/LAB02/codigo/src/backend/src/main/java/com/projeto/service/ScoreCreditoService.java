@@ -0,0 +1,182 @@
+package com.projeto.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.projeto.cache.ScoreCreditoCache;
+import com.projeto.dto.AvaliacaoCredito;
+import com.projeto.dto.AvaliacaoPedido;
+import com.projeto.dto.ParcelaContrato;
+import com.projeto.dto.PedidoCliente;
+import com.projeto.dto.RendaCliente;
+import com.projeto.model.Pedido;
+import com.projeto.repository.ContratoRepository;
+import com.projeto.repository.PedidoRepository;
+import com.projeto.repository.RendimentoRepository;
+import com.projeto.repository.UsuarioRepository;
+
+/**
+ * Score de crédito a partir dos rendimentos do cliente e das parcelas dos contratos vigentes.
+ *
+ * A capacidade mensal é a fatia da renda permitida (credito.score.comprometimento-max) menos as parcelas
+ * atuais; o score mede a folga que sobra e o número de fontes de renda. A proposta de Credito é o valor
+ * presente de parcelas iguais à capacidade, no prazo padrão, com juros que caem conforme o score sobe.
+ */
+@Service
+public class ScoreCreditoService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ScoreCreditoService.class);
+
+    private static final double MILIS_POR_MES = 30.4375 * 24 * 60 * 60 * 1000;
+
+    record Parametros(double comprometimentoMax, int prazoMeses, double taxaBase, double spread, int scoreMinimo) {
+    }
+
+    @Autowired
+    private RendimentoRepository rendimentoRepository;
+
+    @Autowired
+    private ContratoRepository contratoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ScoreCreditoCache cache;
+
+    private final Parametros parametros;
+    private final int tamanhoLote;
+
+    // Pool próprio para o lote: cada tarefa consulta o banco e calcula um bloco de clientes,
+    // então o paralelismo também limita as conexões usadas ao mesmo tempo
+    private final ThreadPoolTaskExecutor executor;
+
+    public ScoreCreditoService(@Value("${credito.score.comprometimento-max:0.30}") double comprometimentoMax,
+                               @Value("${credito.score.prazo-meses:48}") int prazoMeses,
+                               @Value("${credito.score.taxa-base:1.2}") double taxaBase,
+                               @Value("${credito.score.spread:1.8}") double spread,
+                               @Value("${credito.score.minimo:300}") int scoreMinimo,
+                               @Value("${credito.score.lote:500}") int tamanhoLote,
+                               @Value("${credito.score.threads:0}") int threads) {
+        this.parametros = new Parametros(comprometimentoMax, prazoMeses, taxaBase, spread, scoreMinimo);
+        this.tamanhoLote = tamanhoLote;
+        int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(tamanho);
+        this.executor.setMaxPoolSize(tamanho);
+        this.executor.setThreadNamePrefix("score-");
+        this.executor.initialize();
+    }
+
+    public AvaliacaoCredito avaliar(Long clienteId) {
+        AvaliacaoCredito memorizada = cache.buscar(clienteId);
+        if (memorizada != null) return memorizada;
+        if (!usuarioRepository.existsById(clienteId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Cliente não encontrado: id=" + clienteId);
+        }
+        return calcularLote(List.of(clienteId)).get(clienteId);
+    }
+
+    /** Avalia o cliente de cada pedido em análise; clientes repetidos na fila são calculados uma vez. */
+    public List<AvaliacaoPedido> avaliarPedidosPendentes() {
+        List<PedidoCliente> fila = pedidoRepository.findPedidoClientePorStatus(Pedido.StatusPedido.Em_analise);
+
+        Map<Long, AvaliacaoCredito> avaliacoes = new HashMap<>();
+        List<Long> faltantes = new ArrayList<>();
+        for (Long clienteId : fila.stream().map(PedidoCliente::clienteId).collect(Collectors.toCollection(LinkedHashSet::new))) {
+            AvaliacaoCredito memorizada = cache.buscar(clienteId);
+            if (memorizada != null) avaliacoes.put(clienteId, memorizada);
+            else faltantes.add(clienteId);
+        }
+
+        List<CompletableFuture<Map<Long, AvaliacaoCredito>>> tarefas = new ArrayList<>();
+        for (int inicio = 0; inicio < faltantes.size(); inicio += tamanhoLote) {
+            List<Long> bloco = faltantes.subList(inicio, Math.min(inicio + tamanhoLote, faltantes.size()));
+            tarefas.add(CompletableFuture.supplyAsync(() -> calcularLote(bloco), executor));
+        }
+        tarefas.forEach(t -> avaliacoes.putAll(t.join()));
+        log.debug("[ScoreCredito] {} pedidos pendentes, {} clientes ({} calculados em {} blocos)",
+            fila.size(), avaliacoes.size(), faltantes.size(), tarefas.size());
+
+        return fila.stream().map(p -> new AvaliacaoPedido(p.pedidoId(), avaliacoes.get(p.clienteId()))).toList();
+    }
+
+    // Duas queries por bloco (renda agregada e contratos vigentes), independentemente do número de clientes
+    private Map<Long, AvaliacaoCredito> calcularLote(Collection<Long> clienteIds) {
+        long geracao = cache.geracao();
+        Map<Long, RendaCliente> rendas = rendimentoRepository.somarPorCliente(clienteIds).stream()
+            .collect(Collectors.toMap(RendaCliente::clienteId, Function.identity()));
+        Map<Long, List<ParcelaContrato>> contratos = contratoRepository.findVigentesPorCliente(clienteIds, new Date()).stream()
+            .collect(Collectors.groupingBy(ParcelaContrato::clienteId));
+
+        Map<Long, AvaliacaoCredito> resultado = new HashMap<>();
+        for (Long clienteId : clienteIds) {
+            AvaliacaoCredito a = calcular(clienteId, rendas.get(clienteId), contratos.getOrDefault(clienteId, List.of()), parametros);
+            cache.guardar(a, geracao);
+            resultado.put(clienteId, a);
+        }
+        return resultado;
+    }
+
+    static AvaliacaoCredito calcular(Long clienteId, RendaCliente renda, List<ParcelaContrato> contratos, Parametros p) {
+        double rendaMensal = renda != null && renda.total() != null ? renda.total() : 0;
+        long fontes = renda != null && renda.fontes() != null ? renda.fontes() : 0;
+        double parcelas = contratos.stream().mapToDouble(ScoreCreditoService::parcelaMensal).sum();
+
+        double limite = rendaMensal * p.comprometimentoMax();
+        double capacidade = Math.max(0, limite - parcelas);
+        double folga = limite > 0 ? capacidade / limite : 0;
+        int score = rendaMensal > 0 ? (int) Math.round(900 * folga + 100 * Math.min(fontes, 3) / 3.0) : 0;
+
+        double taxa = arredondar(p.taxaBase() + p.spread() * (1 - score / 1000.0));
+        boolean aprovado = score >= p.scoreMinimo() && capacidade > 0;
+        double valor = aprovado ? arredondar(valorPresente(capacidade, taxa / 100, p.prazoMeses())) : 0;
+        return new AvaliacaoCredito(clienteId, arredondar(rendaMensal), arredondar(parcelas), arredondar(capacidade),
+            score, aprovado, valor, p.prazoMeses(), taxa);
+    }
+
+    // Parcela linear do contrato ao longo da sua vigência (mínimo de um mês)
+    private static double parcelaMensal(ParcelaContrato c) {
+        if (c.valor() == null) return 0;
+        if (c.dataInicio() == null || c.dataFim() == null) return c.valor();
+        double meses = Math.max(1, Math.round((c.dataFim().getTime() - c.dataInicio().getTime()) / MILIS_POR_MES));
+        return c.valor() / meses;
+    }
+
+    // Tabela Price: valor financiável com `n` parcelas de `parcela` à taxa mensal `i`
+    private static double valorPresente(double parcela, double i, int n) {
+        if (i <= 0) return parcela * n;
+        return parcela * (1 - Math.pow(1 + i, -n)) / i;
+    }
+
+    private static double arredondar(double v) {
+        return Math.round(v * 100) / 100.0;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,65 @@
+package com.projeto.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+@Service
+public class SenhaService implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+
+    // Pool próprio (não exposto como bean Executor, para não substituir o executor padrão do Spring).
+    // Fica em threads de plataforma mesmo no perfil virtual: o BCrypt é CPU-bound e o tamanho do pool limita a CPU gasta.
+    private final ThreadPoolTaskExecutor executor;
+
+    public SenhaService(PasswordEncoder passwordEncoder,
+                        @Value("${login.hash.threads:0}") int threads,
+                        @Value("${login.hash.queue-capacity:1000}") int fila) {
+        this.passwordEncoder = passwordEncoder;
+        int tamanho = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(tamanho);
+        this.executor.setMaxPoolSize(tamanho);
+        this.executor.setQueueCapacity(fila);
+        this.executor.setThreadNamePrefix("senha-");
+        this.executor.initialize();
+    }
+
+    public String gerarHash(String senha) {
+        return passwordEncoder.encode(senha);
+    }
+
+    // Senhas gravadas antes da adoção do BCrypt continuam em texto puro até o próximo login
+    public boolean ehHash(String valor) {
+        return valor != null && valor.length() == 60 && valor.startsWith("$2");
+    }
+
+    // Aplica o hash apenas se o valor ainda não for um hash (evita hash duplo ao reenviar a entidade)
+    public String protegerSenha(String senha) {
+        if (senha == null || ehHash(senha)) return senha;
+        return gerarHash(senha);
+    }
+
+    public boolean confere(String senha, String armazenada) {
+        if (senha == null || armazenada == null) return false;
+        if (ehHash(armazenada)) return passwordEncoder.matches(senha, armazenada);
+        return MessageDigest.isEqual(senha.getBytes(StandardCharsets.UTF_8), armazenada.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Verificação do BCrypt fora das threads de requisição; lança TaskRejectedException (503 no ApiExceptionHandler) se a fila estiver cheia
+    public CompletableFuture<Boolean> confereAsync(String senha, String armazenada) {
+        return CompletableFuture.supplyAsync(() -> confere(senha, armazenada), executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
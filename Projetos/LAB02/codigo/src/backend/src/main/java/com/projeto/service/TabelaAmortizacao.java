@@ -0,0 +1,67 @@
+package com.projeto.service;
+
+/**
+ * Cronogramas de amortização (Price e SAC) em aritmética primitiva: cada parcela é entregue a um
+ * {@link ConsumidorParcela} com doubles, sem criar objetos nem encaixotar valores por parcela.
+ * taxaMensal é o percentual ao mês, como em Credito.taxaJuros (1.8 = 1,8% a.m.).
+ */
+public final class TabelaAmortizacao {
+
+    public enum Sistema {
+        // parcelas iguais
+        PRICE,
+        // amortização constante, parcelas decrescentes
+        SAC
+    }
+
+    @FunctionalInterface
+    public interface ConsumidorParcela {
+        void aceitar(int numero, double parcela, double juros, double amortizacao, double saldo);
+    }
+
+    private TabelaAmortizacao() {
+    }
+
+    /** Percorre as `prazo` parcelas em ordem; o saldo da última é zerado para não propagar resíduo de ponto flutuante. */
+    public static void gerar(Sistema sistema, double valor, int prazo, double taxaMensal, ConsumidorParcela consumidor) {
+        if (prazo <= 0) return;
+        double i = taxaMensal / 100;
+        double saldo = valor;
+        if (sistema == Sistema.PRICE) {
+            double pmt = parcelaPrice(valor, prazo, i);
+            for (int k = 1; k <= prazo; k++) {
+                double juros = saldo * i;
+                double amortizacao = k == prazo ? saldo : pmt - juros;
+                saldo = k == prazo ? 0 : saldo - amortizacao;
+                consumidor.aceitar(k, amortizacao + juros, juros, amortizacao, saldo);
+            }
+        } else {
+            double amortizacao = valor / prazo;
+            for (int k = 1; k <= prazo; k++) {
+                double juros = saldo * i;
+                saldo = k == prazo ? 0 : saldo - amortizacao;
+                consumidor.aceitar(k, amortizacao + juros, juros, amortizacao, saldo);
+            }
+        }
+    }
+
+    public static double primeiraParcela(Sistema sistema, double valor, int prazo, double taxaMensal) {
+        if (prazo <= 0) return 0;
+        double i = taxaMensal / 100;
+        return sistema == Sistema.PRICE ? parcelaPrice(valor, prazo, i) : valor / prazo + valor * i;
+    }
+
+    // Forma fechada: O(1) por crédito, usada nos agregados da carteira
+    public static double totalJuros(Sistema sistema, double valor, int prazo, double taxaMensal) {
+        if (prazo <= 0) return 0;
+        double i = taxaMensal / 100;
+        if (sistema == Sistema.PRICE) return parcelaPrice(valor, prazo, i) * prazo - valor;
+        // SAC: o saldo cai linearmente, então os juros somam i * valor * (n + 1) / 2
+        return i * valor * (prazo + 1) / 2;
+    }
+
+    private static double parcelaPrice(double valor, int prazo, double i) {
+        if (i == 0) return valor / prazo;
+        return valor * i / (1 - Math.pow(1 + i, -prazo));
+    }
+}
@@ -0,0 +1,178 @@
+package com.projeto.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.projeto.config.Transacoes;
+import com.projeto.model.Usuario;
+
+/**
+ * Tokens de acesso autocontidos: "payload.assinatura" em base64url, com HMAC-SHA256 sobre o payload
+ * (versão, id e tipo do usuário, emissão, expiração e um id aleatório do token). A verificação é só o HMAC
+ * e duas consultas a mapas em memória, sem acesso ao banco.
+ *
+ * Revogação: logout revoga o id do token e troca de senha/tipo ou remoção do usuário revoga tudo o que ele
+ * emitiu até ali. As entradas só precisam durar até a expiração dos tokens afetados, então os mapas ficam do
+ * tamanho das revogações do último auth.token.ttl.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String VERSAO = "1";
+    private static final String ALGORITMO = "HmacSHA256";
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64_DECODER = Base64.getUrlDecoder();
+
+    public record Sessao(Long usuarioId, Usuario.TipoUsuario tipoUsuario, Instant emitidoEm, Instant expiraEm, String tokenId) {
+    }
+
+    public record TokenEmitido(String token, Instant expiraEm) {
+    }
+
+    private final SecretKeySpec chave;
+    private final long ttlMillis;
+    private final SecureRandom aleatorio = new SecureRandom();
+
+    // Mac não é thread-safe. Cada assinatura usa um clone deste protótipo, já inicializado com a chave: o clone não
+    // repete a busca do provedor nem o init, e custa o mesmo com threads de plataforma ou uma thread virtual por
+    // requisição (onde um ThreadLocal seria recriado a cada vez). O protótipo em si nunca é usado para assinar.
+    private final Mac prototipo;
+    private final boolean clonavel;
+
+    // token id -> expiração (ms) do token revogado
+    private final Map<String, Long> tokensRevogados = new ConcurrentHashMap<>();
+    // usuário -> instante (ms) até o qual os tokens emitidos para ele não valem mais
+    private final Map<Long, Long> usuariosRevogados = new ConcurrentHashMap<>();
+
+    public TokenService(@Value("${auth.token.chave:}") String chaveBase64,
+                        @Value("${auth.token.ttl:1h}") Duration ttl) {
+        byte[] bytes;
+        if (chaveBase64 == null || chaveBase64.isBlank()) {
+            bytes = new byte[32];
+            aleatorio.nextBytes(bytes);
+            log.warn("[TokenService] auth.token.chave não configurada: usando chave aleatória (tokens deixam de valer ao reiniciar)");
+        } else {
+            bytes = Base64.getDecoder().decode(chaveBase64.trim());
+            if (bytes.length < 32) throw new IllegalStateException("auth.token.chave deve ter ao menos 256 bits");
+        }
+        this.chave = new SecretKeySpec(bytes, ALGORITMO);
+        this.ttlMillis = ttl.toMillis();
+        this.prototipo = novoMac();
+        this.clonavel = clonar(prototipo) != null;
+        if (!clonavel) log.warn("[TokenService] provedor do {} não suporta clone: cada assinatura cria e inicializa um Mac", ALGORITMO);
+    }
+
+    public TokenEmitido emitir(Long usuarioId, Usuario.TipoUsuario tipoUsuario) {
+        long agora = System.currentTimeMillis();
+        long expira = agora + ttlMillis;
+        byte[] id = new byte[12];
+        aleatorio.nextBytes(id);
+        String payload = String.join("|", VERSAO, String.valueOf(usuarioId),
+            tipoUsuario != null ? tipoUsuario.name() : "", String.valueOf(agora), String.valueOf(expira), B64.encodeToString(id));
+        String corpo = B64.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return new TokenEmitido(corpo + "." + B64.encodeToString(assinar(corpo)), Instant.ofEpochMilli(expira));
+    }
+
+    /** Sessão do token, ou vazio se a assinatura não confere, o formato é inválido, expirou ou foi revogado. */
+    public Optional<Sessao> verificar(String token) {
+        if (token == null) return Optional.empty();
+        int ponto = token.indexOf('.');
+        if (ponto <= 0 || ponto != token.lastIndexOf('.')) return Optional.empty();
+        String corpo = token.substring(0, ponto);
+        try {
+            byte[] assinatura = B64_DECODER.decode(token.substring(ponto + 1));
+            if (!MessageDigest.isEqual(assinatura, assinar(corpo))) return Optional.empty();
+
+            String[] campos = new String(B64_DECODER.decode(corpo), StandardCharsets.UTF_8).split("\\|", -1);
+            if (campos.length != 6 || !VERSAO.equals(campos[0])) return Optional.empty();
+            long usuarioId = Long.parseLong(campos[1]);
+            long emitido = Long.parseLong(campos[3]);
+            long expira = Long.parseLong(campos[4]);
+            if (expira <= System.currentTimeMillis()) return Optional.empty();
+            if (tokensRevogados.containsKey(campos[5])) return Optional.empty();
+            Long revogadoAte = usuariosRevogados.get(usuarioId);
+            if (revogadoAte != null && emitido <= revogadoAte) return Optional.empty();
+
+            Usuario.TipoUsuario tipo = campos[2].isEmpty() ? null : Usuario.TipoUsuario.valueOf(campos[2]);
+            return Optional.of(new Sessao(usuarioId, tipo, Instant.ofEpochMilli(emitido), Instant.ofEpochMilli(expira), campos[5]));
+        } catch (IllegalArgumentException e) {
+            // base64, número ou tipo inválidos
+            return Optional.empty();
+        }
+    }
+
+    public void revogar(Sessao sessao) {
+        tokensRevogados.put(sessao.tokenId(), sessao.expiraEm().toEpochMilli());
+    }
+
+    // Tokens já emitidos para o usuário deixam de valer; logins posteriores emitem tokens válidos
+    public void revogarUsuario(Long usuarioId) {
+        if (usuarioId == null) return;
+        usuariosRevogados.put(usuarioId, System.currentTimeMillis());
+    }
+
+    // Revoga no commit: um login com a senha antiga durante a transação também perde o token
+    public void revogarUsuarioAposCommit(Long usuarioId) {
+        Transacoes.aposCommit(() -> revogarUsuario(usuarioId));
+    }
+
+    /**
+     * Troca de senha ou de tipo encerra as sessões abertas (o tipo vai dentro do token). Usado pelas atualizações de
+     * Usuario, Cliente e Agente; chamar antes de copiar os campos de atualizado para existente.
+     */
+    public void revogarSeCredencialMudou(Usuario existente, Usuario atualizado) {
+        if (atualizado.getSenha() != null || atualizado.getTipoUsuario() != existente.getTipoUsuario()) {
+            revogarUsuarioAposCommit(existente.getId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.token.limpeza-intervalo:5m}", initialDelayString = "${auth.token.limpeza-intervalo:5m}")
+    public void removerRevogacoesExpiradas() {
+        long agora = System.currentTimeMillis();
+        tokensRevogados.values().removeIf(expira -> expira <= agora);
+        // depois de um ttl, todo token emitido antes da revogação já expirou sozinho
+        usuariosRevogados.values().removeIf(revogadoEm -> revogadoEm + ttlMillis <= agora);
+    }
+
+    private byte[] assinar(String corpo) {
+        Mac mac = clonavel ? clonar(prototipo) : novoMac();
+        return mac.doFinal(corpo.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static Mac clonar(Mac mac) {
+        try {
+            return (Mac) mac.clone();
+        } catch (CloneNotSupportedException e) {
+            return null;
+        }
+    }
+
+    private Mac novoMac() {
+        try {
+            Mac m = Mac.getInstance(ALGORITMO);
+            m.init(chave);
+            return m;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC indisponível", e);
+        }
+    }
+}
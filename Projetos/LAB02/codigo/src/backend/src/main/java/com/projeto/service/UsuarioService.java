@@ -1,12 +1,25 @@
 package com.projeto.service;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.cache.AutomovelCache;
+import com.projeto.cache.CredencialCache;
+import com.projeto.cache.CredencialCache.Credencial;
+import com.projeto.cache.ScoreCreditoCache;
+import com.projeto.cache.VersaoTabelas;
+import com.projeto.cache.VersaoTabelas.Tabela;
+import com.projeto.dto.UsuarioResumo;
 import com.projeto.model.Rendimento;
 import com.projeto.model.Usuario;
 import com.projeto.repository.UsuarioRepository;
@@ -20,16 +33,77 @@ public class UsuarioService {
     @Autowired
     private RendimentoService rendimentoService;
 
+    @Autowired
+    private SenhaService senhaService;
+
+    @Autowired
+    private CredencialCache credencialCache;
+
+    @Autowired
+    private ScoreCreditoCache scoreCreditoCache;
+
+    @Autowired
+    private AutomovelCache automovelCache;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private VersaoTabelas versaoTabelas;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     public List<Usuario> listarTodos() {
         return usuarioRepository.findAll();
     }
 
+    // Página da listagem enxuta, pelo mesmo cursor/limite de GET /pedidos
+    public List<UsuarioResumo> listarResumo(Long after, Integer limit) {
+        long cursor = after != null ? after : 0L;
+        return usuarioRepository.findResumoAposId(cursor, Limit.of(PedidoService.normalizarLimite(limit)));
+    }
+
     public Optional<Usuario> buscarPorId(Long id) {
         return usuarioRepository.findById(id);
     }
 
     public Optional<Usuario> buscarPorCpfESenha(String cpf, String senha) {
-        return usuarioRepository.findByCpfAndSenha(cpf, senha);
+        return usuarioRepository.findByCpf(cpf)
+            .filter(u -> senhaService.confere(senha, u.getSenha()));
+    }
+
+    // Login: credencial vem do cache (ou de um único findByCpf) e o BCrypt roda no pool do SenhaService
+    public CompletableFuture<Optional<Credencial>> autenticar(String cpf, String senha) {
+        Credencial credencial = credencialCache.buscar(cpf);
+        if (credencial == null) {
+            long geracao = credencialCache.geracao();
+            Optional<Usuario> usuario = usuarioRepository.findByCpf(cpf);
+            if (usuario.isEmpty()) {
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+            credencial = carregarCredencial(usuario.get(), geracao);
+        }
+        Credencial encontrada = credencial;
+        return senhaService.confereAsync(senha, encontrada.hash())
+            .thenApply(ok -> ok ? Optional.of(migrarSenhaLegada(encontrada, senha)) : Optional.empty());
+    }
+
+    private Credencial carregarCredencial(Usuario usuario, long geracaoDaLeitura) {
+        Map<String, Object> perfil = objectMapper.convertValue(usuario, new TypeReference<Map<String, Object>>() {});
+        Credencial credencial = new Credencial(usuario.getId(), usuario.getSenha(), usuario.getTipoUsuario(),
+            Collections.unmodifiableMap(perfil));
+        credencialCache.guardar(usuario.getCpf(), credencial, geracaoDaLeitura);
+        return credencial;
+    }
+
+    // Senha ainda em texto puro (cadastro anterior ao BCrypt): grava o hash no primeiro login bem-sucedido
+    private Credencial migrarSenhaLegada(Credencial credencial, String senha) {
+        if (senhaService.ehHash(credencial.hash())) return credencial;
+        String hash = senhaService.gerarHash(senha);
+        usuarioRepository.atualizarSenha(credencial.id(), hash);
+        credencialCache.invalidarPorId(credencial.id());
+        return new Credencial(credencial.id(), hash, credencial.tipoUsuario(), credencial.perfil());
     }
 
     public boolean existeCpf(String cpf) {
@@ -37,25 +111,38 @@ public class UsuarioService {
     }
 
     public Usuario salvar(Usuario usuario) {
-        return usuarioRepository.save(usuario);
+        usuario.setSenha(senhaService.protegerSenha(usuario.getSenha()));
+        Usuario salvo = usuarioRepository.save(usuario);
+        versaoTabelas.alterada(Tabela.USUARIO);
+        return salvo;
     }
 
     // New method to handle updates
+    @Transactional
     public Optional<Usuario> atualizar(Long id, Usuario usuarioAtualizado) {
         return usuarioRepository.findById(id)
             .map(usuarioExistente -> {
+                String cpfAnterior = usuarioExistente.getCpf();
                 usuarioExistente.setNome(usuarioAtualizado.getNome());
                 usuarioExistente.setCpf(usuarioAtualizado.getCpf());
                 usuarioExistente.setRg(usuarioAtualizado.getRg());
                 usuarioExistente.setEndereco(usuarioAtualizado.getEndereco());
                 usuarioExistente.setProfissao(usuarioAtualizado.getProfissao());
-                usuarioExistente.setSenha(usuarioAtualizado.getSenha());
+                tokenService.revogarSeCredencialMudou(usuarioExistente, usuarioAtualizado);
+                // senha não é devolvida nas respostas; se não vier no corpo, mantém a atual
+                if (usuarioAtualizado.getSenha() != null) {
+                    usuarioExistente.setSenha(senhaService.protegerSenha(usuarioAtualizado.getSenha()));
+                }
                 usuarioExistente.setTipoUsuario(usuarioAtualizado.getTipoUsuario());
                 
                 // Note: The rendimentos list will be updated in the new 'adicionarRendimento' method.
                 // It's generally not good practice to update collections via the main update method.
                 
-                return Optional.of(usuarioRepository.save(usuarioExistente));
+                Usuario salvo = usuarioRepository.save(usuarioExistente);
+                credencialCache.invalidarAposCommit(cpfAnterior);
+                credencialCache.invalidarAposCommit(salvo.getCpf());
+                versaoTabelas.alterada(Tabela.USUARIO);
+                return Optional.of(salvo);
             })
             .orElse(Optional.empty());
     }
@@ -63,8 +150,15 @@ public class UsuarioService {
     // New method for deletion
     @Transactional
     public boolean deletar(Long id) {
-        if (usuarioRepository.existsById(id)) {
-            usuarioRepository.deleteById(id);
+        Optional<Usuario> usuario = usuarioRepository.findById(id);
+        if (usuario.isPresent()) {
+            usuarioRepository.delete(usuario.get());
+            credencialCache.invalidarAposCommit(usuario.get().getCpf());
+            scoreCreditoCache.invalidarAposCommit(id);
+            automovelCache.invalidarDoProprietarioAposCommit(id);
+            tokenService.revogarUsuarioAposCommit(id);
+            // remoção em cascata de automóveis, pedidos e créditos do usuário
+            versaoTabelas.alterada(Tabela.values());
             return true;
         }
         return false;
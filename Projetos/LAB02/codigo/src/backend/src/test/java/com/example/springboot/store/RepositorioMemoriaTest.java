@@ -0,0 +1,95 @@
+package com.example.springboot.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de estresse do repositório em memória: escritores concorrentes
+ * não podem gerar ids repetidos, perder atualizações nem deixar o índice inconsistente.
+ */
+public class RepositorioMemoriaTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERACOES = 5_000;
+    private static final String[] STATUS = {"pendente", "aprovado", "reprovado", "ativo"};
+
+    record Contador(String id, int valor, String status) {
+        Contador incrementar() { return new Contador(id, valor + 1, status); }
+        Contador comStatus(String s) { return new Contador(id, valor, s); }
+    }
+
+    @Test
+    void insercoesConcorrentes_geramIdsUnicos() throws Exception {
+        RepositorioMemoria<Contador> repo = new RepositorioMemoria<>(new GeradorIds("T"));
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        executarEmParalelo(() -> {
+            for (int i = 0; i < OPERACOES; i++) {
+                ids.add(repo.inserir(id -> new Contador(id, 0, "pendente")).id());
+            }
+        });
+        assertThat(ids).hasSize(THREADS * OPERACOES);
+        assertThat(repo.tamanho()).isEqualTo(THREADS * OPERACOES);
+    }
+
+    @Test
+    void atualizacoesConcorrentes_naoPerdemIncrementos() throws Exception {
+        RepositorioMemoria<Contador> repo = new RepositorioMemoria<>(new GeradorIds("T"), Contador::status);
+        String id = repo.inserir(i -> new Contador(i, 0, "pendente")).id();
+        executarEmParalelo(() -> {
+            for (int i = 0; i < OPERACOES; i++) {
+                repo.atualizar(id, Contador::incrementar);
+            }
+        });
+        assertThat(repo.buscar(id)).get().extracting(Contador::valor).isEqualTo(THREADS * OPERACOES);
+    }
+
+    @Test
+    void trocasDeStatusConcorrentes_mantemIndiceConsistente() throws Exception {
+        RepositorioMemoria<Contador> repo = new RepositorioMemoria<>(new GeradorIds("T"), Contador::status);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) ids.add(repo.inserir(id -> new Contador(id, 0, "pendente")).id());
+
+        executarEmParalelo(() -> {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            for (int i = 0; i < OPERACOES; i++) {
+                String id = ids.get(r.nextInt(ids.size()));
+                String novo = STATUS[r.nextInt(STATUS.length)];
+                repo.atualizar(id, c -> c.comStatus(novo).incrementar());
+                // leituras concorrentes também limpam entradas velhas do índice
+                if (i % 16 == 0) repo.buscarPorIndice(STATUS[r.nextInt(STATUS.length)]);
+            }
+        });
+
+        int total = 0;
+        for (String status : STATUS) {
+            Set<String> esperado = repo.listar().stream()
+                .filter(c -> c.status().equals(status)).map(Contador::id).collect(Collectors.toSet());
+            Set<String> indexado = repo.buscarPorIndice(status).stream().map(Contador::id).collect(Collectors.toSet());
+            assertThat(indexado).isEqualTo(esperado);
+            total += indexado.size();
+        }
+        assertThat(total).isEqualTo(ids.size());
+        assertThat(repo.listar().stream().mapToInt(Contador::valor).sum()).isEqualTo(THREADS * OPERACOES);
+    }
+
+    private void executarEmParalelo(Runnable tarefa) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futuros.add(pool.submit(() -> {
+                largada.await();
+                tarefa.run();
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> f : futuros) f.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.http.*;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -40,6 +41,13 @@ public class ApiIntegrationTest {
         return rest.postForEntity(baseUrl(path), body, type);
     }
 
+    private ResponseEntity<Map> patchStatus(Object pedidoId, String status) {
+        HttpHeaders h = new HttpHeaders();
+        h.setContentType(MediaType.APPLICATION_JSON);
+        return rest.exchange(baseUrl("/pedidos/" + pedidoId + "/status"), HttpMethod.PATCH,
+            new HttpEntity<>(Map.of("status", status), h), Map.class);
+    }
+
     @Test @Order(1)
     void createUsuarioCliente_andLogin() {
         Map<String,Object> usuario = new LinkedHashMap<>();
@@ -161,4 +169,174 @@ public class ApiIntegrationTest {
         assertThat(rest.getForEntity(baseUrl("/creditos"), List.class).getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(rest.getForEntity(baseUrl("/contratos"), List.class).getStatusCode()).isEqualTo(HttpStatus.OK);
     }
+
+    @Test @Order(8)
+    void listPedidos_keysetPagination_andStream() {
+        // profile dev resolve cliente/automovel inexistentes para os dados semeados
+        for (int i = 0; i < 3; i++) {
+            Map<String,Object> pedido = new LinkedHashMap<>();
+            pedido.put("cliente", Collections.singletonMap("id", 999999));
+            pedido.put("automovel", Collections.singletonMap("id", 999999));
+            assertThat(post("/pedidos", pedido, Map.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+        }
+
+        ResponseEntity<List> primeira = rest.getForEntity(baseUrl("/pedidos?limit=2"), List.class);
+        assertThat(primeira.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(primeira.getBody()).hasSize(2);
+        String cursor = primeira.getHeaders().getFirst("X-Next-After");
+        assertThat(cursor).isNotNull();
+
+        ResponseEntity<List> segunda = rest.getForEntity(baseUrl("/pedidos?limit=2&after=" + cursor), List.class);
+        assertThat(segunda.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(segunda.getBody()).isNotEmpty();
+        Number primeiroDaSegunda = (Number) ((Map) segunda.getBody().get(0)).get("id");
+        assertThat(primeiroDaSegunda.longValue()).isGreaterThan(Long.parseLong(cursor));
+
+        ResponseEntity<List> todos = rest.getForEntity(baseUrl("/pedidos"), List.class);
+        ResponseEntity<List> stream = rest.getForEntity(baseUrl("/pedidos/stream"), List.class);
+        assertThat(stream.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(stream.getBody()).hasSameSizeAs(todos.getBody());
+    }
+
+    @Test @Order(9)
+    void criarPedidosEmLote_reportaCadaItem() {
+        Number clienteId = (Number) ((Map) rest.getForEntity(baseUrl("/usuarios"), List.class).getBody().get(0)).get("id");
+        Number autoId = (Number) ((Map) rest.getForEntity(baseUrl("/automoveis"), List.class).getBody().get(0)).get("id");
+
+        List<Map<String,Object>> lote = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Map<String,Object> p = new LinkedHashMap<>();
+            p.put("cliente", Collections.singletonMap("id", clienteId));
+            p.put("automovel", Collections.singletonMap("id", autoId));
+            lote.add(p);
+        }
+        Map<String,Object> invalido = new LinkedHashMap<>();
+        invalido.put("cliente", Collections.singletonMap("id", clienteId));
+        invalido.put("automovel", Collections.singletonMap("id", 987654321));
+        lote.add(invalido);
+
+        ResponseEntity<List> resp = post("/pedidos/batch", lote, List.class);
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<Map> resultados = resp.getBody();
+        assertThat(resultados).hasSize(3);
+        assertThat(resultados.get(0).get("id")).isNotNull();
+        assertThat(resultados.get(1).get("id")).isNotNull();
+        assertThat(resultados.get(2).get("id")).isNull();
+        assertThat((String) resultados.get(2).get("erro")).contains("987654321");
+
+        ResponseEntity<Map> criado = rest.getForEntity(baseUrl("/pedidos/" + resultados.get(0).get("id")), Map.class);
+        assertThat(criado.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(criado.getBody().get("status")).isEqualTo("PENDENTE");
+    }
+
+    @Test @Order(10)
+    void alterarStatus_concorrente_apenasUmVence() throws Exception {
+        Map<String,Object> pedido = new LinkedHashMap<>();
+        pedido.put("cliente", Collections.singletonMap("id", 999999));
+        pedido.put("automovel", Collections.singletonMap("id", 999999));
+        ResponseEntity<Map> criado = post("/pedidos", pedido, Map.class);
+        assertThat(criado.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Object id = criado.getBody().get("id");
+        assertThat(((Number) criado.getBody().get("versao")).longValue()).isZero();
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<ResponseEntity<Map>>> respostas = new ArrayList<>();
+        for (String status : List.of("APROVADO", "REJEITADO")) {
+            respostas.add(pool.submit(() -> {
+                largada.await();
+                return patchStatus(id, status);
+            }));
+        }
+        largada.countDown();
+        List<HttpStatusCode> codigos = new ArrayList<>();
+        String vencedor = null;
+        for (Future<ResponseEntity<Map>> f : respostas) {
+            ResponseEntity<Map> r = f.get(30, TimeUnit.SECONDS);
+            codigos.add(r.getStatusCode());
+            if (r.getStatusCode() == HttpStatus.OK) vencedor = (String) r.getBody().get("status");
+        }
+        pool.shutdown();
+        assertThat(codigos).containsExactlyInAnyOrder(HttpStatus.OK, HttpStatus.CONFLICT);
+
+        ResponseEntity<Map> atual = rest.getForEntity(baseUrl("/pedidos/" + id), Map.class);
+        assertThat(atual.getBody().get("status")).isEqualTo(vencedor);
+        assertThat(((Number) atual.getBody().get("versao")).longValue()).isEqualTo(1L);
+
+        // status final não volta para análise; destino nunca alcançável é 400
+        assertThat(patchStatus(id, "CANCELADO").getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(patchStatus(id, "PENDENTE").getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(patchStatus(987654321, "APROVADO").getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test @Order(11)
+    void eventos_sse_entregamCriacaoEMudancaDeStatusFiltradas() throws Exception {
+        Number clienteId = (Number) ((Map) rest.getForEntity(baseUrl("/usuarios"), List.class).getBody().get(0)).get("id");
+        Number autoId = (Number) ((Map) rest.getForEntity(baseUrl("/automoveis"), List.class).getBody().get(0)).get("id");
+
+        BlockingQueue<String> todos = assinarEventos("/pedidos/eventos?clienteId=" + clienteId);
+        BlockingQueue<String> aprovados = assinarEventos("/pedidos/eventos?clienteId=" + clienteId + "&status=APROVADO");
+
+        Map<String,Object> pedido = new LinkedHashMap<>();
+        pedido.put("cliente", Collections.singletonMap("id", clienteId));
+        pedido.put("automovel", Collections.singletonMap("id", autoId));
+        Object id = post("/pedidos", pedido, Map.class).getBody().get("id");
+        assertThat(patchStatus(id, "APROVADO").getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(proximoEvento(todos)).isEqualTo("criado:" + id);
+        assertThat(proximoEvento(todos)).isEqualTo("status:" + id);
+        assertThat(proximoEvento(aprovados)).isEqualTo("status:" + id);
+    }
+
+    @Test @Order(12)
+    void cronograma_priceESac_eResumoDaCarteira() {
+        ResponseEntity<Map> price = rest.getForEntity(baseUrl("/creditos/" + creditoId + "/cronograma"), Map.class);
+        assertThat(price.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<Map> parcelas = (List<Map>) price.getBody().get("parcelas");
+        assertThat(parcelas).hasSize(24);
+        // 100 mil a 1,5% a.m. em 24 meses
+        assertThat(((Number) parcelas.get(0).get("parcela")).doubleValue()).isEqualTo(4992.41);
+        assertThat(((Number) parcelas.get(23).get("saldo")).doubleValue()).isZero();
+
+        Map sac = rest.getForEntity(baseUrl("/creditos/" + creditoId + "/cronograma?sistema=SAC"), Map.class).getBody();
+        assertThat(((Number) ((List<Map>) sac.get("parcelas")).get(0).get("parcela")).doubleValue()).isEqualTo(5666.67);
+
+        assertThat(rest.getForEntity(baseUrl("/creditos/" + creditoId + "/cronograma?sistema=XPTO"), String.class).getStatusCode())
+            .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(rest.getForEntity(baseUrl("/creditos/999999/cronograma"), String.class).getStatusCode())
+            .isEqualTo(HttpStatus.NOT_FOUND);
+
+        List<Map> todos = rest.getForEntity(baseUrl("/creditos/cronogramas/stream?sistema=SAC"), List.class).getBody();
+        assertThat(todos).anySatisfy(c -> assertThat(((Number) c.get("creditoId")).longValue()).isEqualTo(creditoId));
+
+        Map resumo = rest.getForEntity(baseUrl("/creditos/carteira/resumo"), Map.class).getBody();
+        assertThat(((Number) resumo.get("quantidade")).longValue()).isGreaterThanOrEqualTo(1);
+        assertThat(((Number) resumo.get("totalPago")).doubleValue())
+            .isGreaterThan(((Number) resumo.get("valorTotal")).doubleValue());
+    }
+
+    // Lê o stream SSE em segundo plano e entrega cada evento como "nome:id"
+    private BlockingQueue<String> assinarEventos(String path) throws Exception {
+        BlockingQueue<String> eventos = new LinkedBlockingQueue<>();
+        java.net.http.HttpResponse<java.util.stream.Stream<String>> resp = java.net.http.HttpClient.newHttpClient().sendAsync(
+            java.net.http.HttpRequest.newBuilder(java.net.URI.create(baseUrl(path))).header("Accept", "text/event-stream").build(),
+            java.net.http.HttpResponse.BodyHandlers.ofLines()).get(10, TimeUnit.SECONDS);
+        assertThat(resp.statusCode()).isEqualTo(200);
+        Thread leitor = new Thread(() -> {
+            String[] nome = new String[1];
+            resp.body().forEach(linha -> {
+                if (linha.startsWith("event:")) nome[0] = linha.substring(6);
+                else if (linha.startsWith("id:")) eventos.add(nome[0] + ":" + linha.substring(3));
+            });
+        });
+        leitor.setDaemon(true);
+        leitor.start();
+        return eventos;
+    }
+
+    private String proximoEvento(BlockingQueue<String> eventos) throws InterruptedException {
+        String e = eventos.poll(10, TimeUnit.SECONDS);
+        assertThat(e).as("evento SSE não recebido").isNotNull();
+        return e;
+    }
 }
@@ -3,6 +3,7 @@ package com.projeto;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
@@ -22,6 +23,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("dev")
+@AutoConfigureObservability(tracing = false)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class CrudAndErrorPathsTest {
@@ -167,6 +169,230 @@ public class CrudAndErrorPathsTest {
         assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
 
+    @Test @Order(7)
+    void loginAposTrocaDeSenha_usaNovaSenhaENaoExpoeHash() {
+        String cpf = String.valueOf(System.nanoTime()).substring(0, 11);
+        ResponseEntity<Map> user = rest.postForEntity(url("/usuarios"), novoClientePayload(cpf), Map.class);
+        Long id = ((Number)user.getBody().get("id")).longValue();
+        assertThat(user.getBody()).doesNotContainKey("senha");
+
+        // primeiro login popula o cache de credenciais
+        ResponseEntity<Map> login1 = rest.postForEntity(url("/usuarios/login"), Map.of("cpf", cpf, "senha", "abc123"), Map.class);
+        assertThat(login1.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat((Map<String,Object>) login1.getBody().get("usuario")).doesNotContainKey("senha");
+        String token1 = (String) login1.getBody().get("token");
+        assertThat(comToken("/usuarios/"+id, token1).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(comToken("/usuarios/"+id, token1 + "x").getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+
+        Map<String,Object> atualizado = novoClientePayload(cpf);
+        atualizado.put("senha", "nova456");
+        ResponseEntity<Map> put = rest.exchange(url("/usuarios/"+id), HttpMethod.PUT, new HttpEntity<>(atualizado, jsonHeaders()), Map.class);
+        assertThat(put.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<Map> antiga = rest.postForEntity(url("/usuarios/login"), Map.of("cpf", cpf, "senha", "abc123"), Map.class);
+        assertThat(antiga.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        ResponseEntity<Map> nova = rest.postForEntity(url("/usuarios/login"), Map.of("cpf", cpf, "senha", "nova456"), Map.class);
+        assertThat(nova.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        // a troca de senha revoga o token anterior; logout revoga o atual
+        String token2 = (String) nova.getBody().get("token");
+        assertThat(comToken("/usuarios/"+id, token1).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(comToken("/usuarios/"+id, token2).getStatusCode()).isEqualTo(HttpStatus.OK);
+        HttpHeaders auth = new HttpHeaders();
+        auth.setBearerAuth(token2);
+        assertThat(rest.exchange(url("/usuarios/logout"), HttpMethod.POST, new HttpEntity<>(auth), Void.class).getStatusCode())
+            .isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(comToken("/usuarios/"+id, token2).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+
+        rest.delete(url("/usuarios/"+id));
+        ResponseEntity<Map> aposDelete = rest.postForEntity(url("/usuarios/login"), Map.of("cpf", cpf, "senha", "nova456"), Map.class);
+        assertThat(aposDelete.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private ResponseEntity<Map> comToken(String path, String token) {
+        HttpHeaders h = new HttpHeaders();
+        h.setBearerAuth(token);
+        return rest.exchange(url(path), HttpMethod.GET, new HttpEntity<>(h), Map.class);
+    }
+
+    @Test @Order(8)
+    void automovelPorPlaca_usaCacheEInvalidaNaAtualizacao() {
+        String placa = "PC"+UUID.randomUUID().toString().substring(0,5);
+        Map<String,Object> auto = new LinkedHashMap<>();
+        auto.put("placa", placa);
+        auto.put("matricula","MC"+UUID.randomUUID().toString().substring(0,5));
+        auto.put("marca","MarcaC");
+        auto.put("modelo","ModeloC");
+        auto.put("ano", 2022);
+        ResponseEntity<Map> create = rest.postForEntity(url("/automoveis"), auto, Map.class);
+        assertThat(create.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Long id = ((Number)create.getBody().get("id")).longValue();
+
+        assertThat(rest.getForEntity(url("/automoveis/placa/"+placa), Map.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+        long acertosAntes = acertos("automoveis.placa");
+        assertThat(rest.getForEntity(url("/automoveis/placa/"+placa), Map.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(acertos("automoveis.placa")).isGreaterThan(acertosAntes);
+
+        String novaPlaca = "PN"+UUID.randomUUID().toString().substring(0,5);
+        auto.put("placa", novaPlaca);
+        ResponseEntity<Map> put = rest.exchange(url("/automoveis/"+id), HttpMethod.PUT, new HttpEntity<>(auto, jsonHeaders()), Map.class);
+        assertThat(put.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(rest.getForEntity(url("/automoveis/placa/"+placa), Map.class).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        ResponseEntity<Map> porNova = rest.getForEntity(url("/automoveis/placa/"+novaPlaca), Map.class);
+        assertThat(porNova.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(((Number)porNova.getBody().get("id")).longValue()).isEqualTo(id);
+    }
+
+    @Test @Order(9)
+    void prometheus_expoeMetricasDeEndpointServicoEPool() {
+        rest.getForEntity(url("/automoveis"), List.class);
+        ResponseEntity<String> resp = rest.getForEntity(url("/actuator/prometheus"), String.class);
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(resp.getBody())
+            .contains("http_server_requests_seconds_count")
+            .contains("uri=\"/automoveis\"")
+            .contains("servico_metodo_seconds_count")
+            .contains("classe=\"AutomovelService\"")
+            .contains("hikaricp_connections_active")
+            .contains("cache_gets_total");
+    }
+
+    @Test @Order(10)
+    void getCondicional_devolve304AteUmaEscrita() {
+        ResponseEntity<List> primeira = rest.getForEntity(url("/automoveis"), List.class);
+        String etag = primeira.getHeaders().getETag();
+        assertThat(etag).startsWith("W/\"automoveis:");
+
+        HttpHeaders condicional = new HttpHeaders();
+        condicional.setIfNoneMatch(etag);
+        ResponseEntity<String> naoMudou = rest.exchange(url("/automoveis"), HttpMethod.GET, new HttpEntity<>(condicional), String.class);
+        assertThat(naoMudou.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(naoMudou.getBody()).isNull();
+        assertThat(naoMudou.getHeaders().getETag()).isEqualTo(etag);
+
+        Map<String,Object> auto = new LinkedHashMap<>();
+        auto.put("placa", "ET"+UUID.randomUUID().toString().substring(0,5));
+        auto.put("matricula","ME"+UUID.randomUUID().toString().substring(0,5));
+        auto.put("marca","MarcaE");
+        auto.put("modelo","ModeloE");
+        auto.put("ano", 2023);
+        assertThat(rest.postForEntity(url("/automoveis"), auto, Map.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<List> mudou = rest.exchange(url("/automoveis"), HttpMethod.GET, new HttpEntity<>(condicional), List.class);
+        assertThat(mudou.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(mudou.getHeaders().getETag()).isNotEqualTo(etag);
+        assertThat(mudou.getBody()).hasSize(primeira.getBody().size() + 1);
+
+        // 404 não leva tag
+        assertThat(rest.getForEntity(url("/usuarios/999999"), Map.class).getHeaders().getETag()).isNull();
+
+        // /usuarios/{id} de um agente embute os créditos: um crédito novo muda a tag
+        Map<String,Object> agente = novoClientePayload("AE"+UUID.randomUUID().toString().substring(0,6));
+        agente.put("tipoUsuario", "Agente");
+        agente.put("nomeAgente", "Banco ETag");
+        agente.put("tipoAgente", "Banco");
+        Long agenteId = ((Number) rest.postForEntity(url("/agentes"), agente, Map.class).getBody().get("id")).longValue();
+        HttpHeaders doAgente = new HttpHeaders();
+        doAgente.setIfNoneMatch(rest.getForEntity(url("/usuarios/"+agenteId), Map.class).getHeaders().getETag());
+        assertThat(rest.exchange(url("/usuarios/"+agenteId), HttpMethod.GET, new HttpEntity<>(doAgente), Map.class).getStatusCode())
+            .isEqualTo(HttpStatus.NOT_MODIFIED);
+        Map<String,Object> credito = new LinkedHashMap<>();
+        credito.put("valorAprovado", 50000.0);
+        credito.put("taxaJuros", 1.2);
+        credito.put("prazoPagamento", 12);
+        credito.put("banco", Map.of("id", agenteId));
+        assertThat(rest.postForEntity(url("/creditos"), credito, Map.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+        ResponseEntity<Map> comCredito = rest.exchange(url("/usuarios/"+agenteId), HttpMethod.GET, new HttpEntity<>(doAgente), Map.class);
+        assertThat(comCredito.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat((List<?>) comCredito.getBody().get("creditos")).hasSize(1);
+    }
+
+    @Test @Order(11)
+    void formatoBinario_eCompressao_negociadosPeloCliente() throws Exception {
+        ResponseEntity<List> json = rest.getForEntity(url("/automoveis"), List.class);
+        assertThat(json.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue();
+
+        HttpHeaders cbor = new HttpHeaders();
+        cbor.setAccept(List.of(MediaType.APPLICATION_CBOR));
+        ResponseEntity<byte[]> binario = rest.exchange(url("/automoveis"), HttpMethod.GET, new HttpEntity<>(cbor), byte[].class);
+        assertThat(binario.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(binario.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_CBOR)).isTrue();
+        List<?> decodificado = new com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper().readValue(binario.getBody(), List.class);
+        assertThat(decodificado).hasSize(json.getBody().size());
+
+        // corpo acima de server.compression.min-response-size sai comprimido quando o cliente aceita gzip
+        for (int i = 0; i < 30; i++) {
+            Map<String,Object> auto = new LinkedHashMap<>();
+            auto.put("placa", "GZ"+UUID.randomUUID().toString().substring(0,5));
+            auto.put("matricula","MG"+UUID.randomUUID().toString().substring(0,5));
+            auto.put("marca","MarcaG");
+            auto.put("modelo","ModeloG");
+            auto.put("ano", 2022);
+            rest.postForEntity(url("/automoveis"), auto, Map.class);
+        }
+        HttpHeaders gzip = new HttpHeaders();
+        gzip.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        ResponseEntity<byte[]> comprimida = rest.exchange(url("/automoveis"), HttpMethod.GET, new HttpEntity<>(gzip), byte[].class);
+        assertThat(comprimida.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (java.util.zip.GZIPInputStream in = new java.util.zip.GZIPInputStream(new java.io.ByteArrayInputStream(comprimida.getBody()))) {
+            assertThat(new com.fasterxml.jackson.databind.ObjectMapper().readValue(in, List.class)).hasSize(json.getBody().size() + 30);
+        }
+    }
+
+    @Test @Order(12)
+    void removerProprietario_tiraSeusAutomoveisDoCache() {
+        ResponseEntity<Map> cliente = rest.postForEntity(url("/clientes"),
+            novoClientePayload("CA"+UUID.randomUUID().toString().substring(0,6)), Map.class);
+        Long donoId = ((Number) cliente.getBody().get("id")).longValue();
+        Map<String,Object> auto = new LinkedHashMap<>();
+        auto.put("placa", "CA"+UUID.randomUUID().toString().substring(0,5));
+        auto.put("matricula","MC"+UUID.randomUUID().toString().substring(0,5));
+        auto.put("marca","MarcaC");
+        auto.put("modelo","ModeloC");
+        auto.put("ano", 2021);
+        auto.put("proprietario", Map.of("id", donoId));
+        Long automovelId = ((Number) rest.postForEntity(url("/automoveis"), auto, Map.class).getBody().get("id")).longValue();
+        // a segunda leitura já vem do cache
+        assertThat(rest.getForEntity(url("/automoveis/"+automovelId), Map.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(rest.getForEntity(url("/automoveis/"+automovelId), Map.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<Void> del = rest.exchange(url("/clientes/"+donoId), HttpMethod.DELETE, null, Void.class);
+        assertThat(del.getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(rest.getForEntity(url("/automoveis/"+automovelId), Map.class).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test @Order(13)
+    void trocaDeSenhaPorClientes_revogaTokensAbertos() {
+        String cpf = String.valueOf(System.nanoTime()).substring(0, 11);
+        Long id = ((Number) rest.postForEntity(url("/clientes"), novoClientePayload(cpf), Map.class).getBody().get("id")).longValue();
+        String token1 = (String) rest.postForEntity(url("/usuarios/login"), Map.of("cpf", cpf, "senha", "abc123"), Map.class)
+            .getBody().get("token");
+        assertThat(comToken("/clientes/"+id, token1).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        Map<String,Object> atualizado = novoClientePayload(cpf);
+        atualizado.put("senha", "nova456");
+        ResponseEntity<Map> put = rest.exchange(url("/clientes/"+id), HttpMethod.PUT, new HttpEntity<>(atualizado, jsonHeaders()), Map.class);
+        assertThat(put.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(comToken("/clientes/"+id, token1).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+
+        // a remoção também encerra as sessões abertas
+        String token2 = (String) rest.postForEntity(url("/usuarios/login"), Map.of("cpf", cpf, "senha", "nova456"), Map.class)
+            .getBody().get("token");
+        assertThat(comToken("/clientes/"+id, token2).getStatusCode()).isEqualTo(HttpStatus.OK);
+        rest.delete(url("/clientes/"+id));
+        assertThat(comToken("/clientes/"+id, token2).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private long acertos(String cache) {
+        ResponseEntity<List> stats = rest.getForEntity(url("/cache/estatisticas"), List.class);
+        for (Object o : stats.getBody()) {
+            Map m = (Map) o;
+            if (cache.equals(m.get("nome"))) return ((Number) m.get("acertos")).longValue();
+        }
+        throw new AssertionError("cache não encontrado: " + cache);
+    }
+
     private HttpHeaders jsonHeaders(){
         HttpHeaders h = new HttpHeaders();
         h.setContentType(MediaType.APPLICATION_JSON);
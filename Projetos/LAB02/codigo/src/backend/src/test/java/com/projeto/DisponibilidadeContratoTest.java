@@ -0,0 +1,128 @@
+package com.projeto;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.projeto.model.Automovel;
+import com.projeto.model.Contrato;
+import com.projeto.model.Pedido;
+import com.projeto.model.Usuario;
+import com.projeto.repository.AutomovelRepository;
+import com.projeto.repository.PedidoRepository;
+import com.projeto.repository.UsuarioRepository;
+import com.projeto.service.ContratoService;
+import com.projeto.service.DisponibilidadeService;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Disponibilidade da frota: consultas por período e recusa de contratos sobrepostos, inclusive concorrentes.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:disponibilidade-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "outbox.intervalo=1h",
+    "outbox.atraso-inicial=1h"
+})
+@ActiveProfiles("dev")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class DisponibilidadeContratoTest {
+
+    @Autowired
+    ContratoService contratoService;
+    @Autowired
+    DisponibilidadeService disponibilidadeService;
+    @Autowired
+    UsuarioRepository usuarioRepository;
+    @Autowired
+    AutomovelRepository automovelRepository;
+    @Autowired
+    PedidoRepository pedidoRepository;
+
+    private Usuario cliente;
+
+    @BeforeAll
+    void seed() {
+        cliente = usuarioRepository.save(new Usuario("Cliente Frota", "DP-CLI", "RG", "Rua", "Dev", "x", Usuario.TipoUsuario.Cliente));
+    }
+
+    @Test
+    void sobreposicao_recusada_periodoAdjacenteAceito() {
+        Automovel carro = automovel("DP-1");
+        Automovel outro = automovel("DP-2");
+        contratoService.salvar(contrato(carro, "2025-01-01", "2025-01-31"));
+
+        assertThatThrownBy(() -> contratoService.salvar(contrato(carro, "2025-01-15", "2025-02-10")))
+            .isInstanceOfSatisfying(ResponseStatusException.class, e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        // datas inclusivas: começar no último dia do anterior também conflita
+        assertThatThrownBy(() -> contratoService.salvar(contrato(carro, "2025-01-31", "2025-02-10")))
+            .isInstanceOf(ResponseStatusException.class);
+        Contrato fevereiro = contratoService.salvar(contrato(carro, "2025-02-01", "2025-02-28"));
+
+        // editar o próprio contrato não conflita consigo mesmo
+        fevereiro.setDataFim(data("2025-02-20"));
+        assertThat(contratoService.atualizar(fevereiro.getId(), fevereiro)).isPresent();
+
+        assertThat(disponibilidadeService.estaLivre(carro.getId(), data("2025-01-10"), data("2025-01-12"))).isFalse();
+        assertThat(disponibilidadeService.estaLivre(carro.getId(), data("2025-02-21"), data("2025-03-10"))).isTrue();
+        assertThat(disponibilidadeService.livres(data("2025-01-20"), data("2025-01-25")))
+            .extracting(Automovel::getId).contains(outro.getId()).doesNotContain(carro.getId());
+
+        assertThatThrownBy(() -> disponibilidadeService.estaLivre(carro.getId(), data("2025-03-10"), data("2025-03-01")))
+            .isInstanceOfSatisfying(ResponseStatusException.class, e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void reservasConcorrentes_noMesmoPeriodo_apenasUmaVence() throws Exception {
+        Automovel carro = automovel("DP-3");
+        int tentativas = 6;
+        List<Contrato> contratos = new ArrayList<>();
+        for (int i = 0; i < tentativas; i++) contratos.add(contrato(carro, "2025-06-01", "2025-06-30"));
+
+        ExecutorService pool = Executors.newFixedThreadPool(tentativas);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger sucesso = new AtomicInteger();
+        AtomicInteger conflito = new AtomicInteger();
+        List<Future<?>> futuros = new ArrayList<>();
+        for (Contrato c : contratos) {
+            futuros.add(pool.submit(() -> {
+                largada.await();
+                try {
+                    contratoService.salvar(c);
+                    sucesso.incrementAndGet();
+                } catch (ResponseStatusException e) {
+                    if (e.getStatusCode() == HttpStatus.CONFLICT) conflito.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> f : futuros) f.get(30, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertThat(sucesso.get()).isEqualTo(1);
+        assertThat(conflito.get()).isEqualTo(tentativas - 1);
+    }
+
+    private Automovel automovel(String placa) {
+        return automovelRepository.save(new Automovel(placa, "M" + placa, 2024, "Marca", "Modelo", cliente));
+    }
+
+    private Contrato contrato(Automovel carro, String inicio, String fim) {
+        Pedido pedido = pedidoRepository.save(new Pedido(cliente, carro, Pedido.StatusPedido.Aprovado, new Date()));
+        return new Contrato(pedido, Contrato.TipoContrato.Cliente, 1000.0, data(inicio), data(fim), carro);
+    }
+
+    private static Date data(String iso) {
+        return java.sql.Date.valueOf(LocalDate.parse(iso));
+    }
+}
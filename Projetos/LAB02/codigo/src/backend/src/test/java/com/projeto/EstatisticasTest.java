@@ -0,0 +1,117 @@
+package com.projeto;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.projeto.dto.CreditoAgente;
+import com.projeto.dto.EstatisticasDashboard;
+import com.projeto.model.Agente;
+import com.projeto.model.Automovel;
+import com.projeto.model.Contrato;
+import com.projeto.model.Credito;
+import com.projeto.model.Pedido;
+import com.projeto.model.Usuario;
+import com.projeto.repository.AutomovelRepository;
+import com.projeto.repository.UsuarioRepository;
+import com.projeto.service.ContratoService;
+import com.projeto.service.CreditoService;
+import com.projeto.service.EstatisticasService;
+import com.projeto.service.PedidoService;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contadores do dashboard: as escritas pelos serviços mudam o GET /stats sem recontagem, e a recontagem
+ * corrige o que foi gravado por fora dos serviços.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:estatisticas-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "outbox.intervalo=1h",
+    "outbox.atraso-inicial=1h",
+    "estatisticas.reconciliacao.intervalo=1h"
+})
+@ActiveProfiles("dev")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EstatisticasTest {
+
+    @Autowired
+    EstatisticasService estatisticasService;
+    @Autowired
+    PedidoService pedidoService;
+    @Autowired
+    ContratoService contratoService;
+    @Autowired
+    CreditoService creditoService;
+    @Autowired
+    UsuarioRepository usuarioRepository;
+    @Autowired
+    AutomovelRepository automovelRepository;
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Test
+    void escritasAtualizamOsContadores_eARecontagemCorrigeODesvio() {
+        estatisticasService.reconciliar();
+        EstatisticasDashboard antes = estatisticasService.resumo();
+
+        Usuario cliente = usuarioRepository.save(new Usuario("Cliente Stats", "ST-CLI", "RG", "Rua", "Dev", "x", Usuario.TipoUsuario.Cliente));
+        Agente banco = new Agente();
+        banco.setNome("Agente ST");
+        banco.setCpf("ST-BAN");
+        banco.setSenha("x");
+        banco.setTipoUsuario(Usuario.TipoUsuario.Agente);
+        banco.setNomeAgente("Banco ST");
+        banco.setTipoAgente(Agente.TipoAgente.Banco);
+        banco = usuarioRepository.save(banco);
+        Automovel carro = automovelRepository.save(new Automovel("ST-1", "ST-M1", 2024, "Marca", "Modelo", banco));
+
+        Pedido pendente = pedidoService.salvar(new Pedido(cliente, carro, null, null));
+        Pedido aprovado = pedidoService.salvar(new Pedido(cliente, carro, null, null));
+        pedidoService.alterarStatus(aprovado.getId(), Pedido.StatusPedido.Aprovado);
+        Contrato contrato = contratoService.salvar(new Contrato(aprovado, Contrato.TipoContrato.Banco, 900.0,
+            data(LocalDate.now().minusDays(1)), data(LocalDate.now().plusMonths(6)), carro));
+        Credito credito = creditoService.salvar(new Credito(banco, 10_000.10, 24, 1.5));
+        creditoService.salvar(new Credito(banco, 5_000.0, 12, 1.2));
+
+        EstatisticasDashboard depois = estatisticasService.resumo();
+        assertThat(depois.pedidosPendentes()).isEqualTo(antes.pedidosPendentes() + 1);
+        assertThat(depois.pedidosPorStatus().get("APROVADO")).isEqualTo(antes.pedidosPorStatus().get("APROVADO") + 1);
+        assertThat(depois.contratosVigentes()).isEqualTo(antes.contratosVigentes() + 1);
+        assertThat(creditoDe(depois, banco.getId())).isEqualTo(new CreditoAgente(banco.getId(), 2, 15_000.10));
+
+        // remoções pelos serviços
+        pedidoService.deletar(pendente.getId());
+        contratoService.deletar(contrato.getId());
+        creditoService.deletar(credito.getId());
+        EstatisticasDashboard aposRemover = estatisticasService.resumo();
+        assertThat(aposRemover.pedidosPendentes()).isEqualTo(antes.pedidosPendentes());
+        assertThat(aposRemover.contratosVigentes()).isEqualTo(antes.contratosVigentes());
+        assertThat(creditoDe(aposRemover, banco.getId())).isEqualTo(new CreditoAgente(banco.getId(), 1, 5_000.0));
+
+        // escrita por fora dos serviços: só aparece depois da recontagem
+        jdbc.update("update pedido set status = 'Rejeitado' where id = ?", aprovado.getId());
+        assertThat(estatisticasService.resumo().pedidosPorStatus().get("REJEITADO"))
+            .isEqualTo(aposRemover.pedidosPorStatus().get("REJEITADO"));
+        estatisticasService.reconciliar();
+        EstatisticasDashboard reconciliado = estatisticasService.resumo();
+        assertThat(reconciliado.pedidosPorStatus().get("REJEITADO")).isEqualTo(aposRemover.pedidosPorStatus().get("REJEITADO") + 1);
+        assertThat(reconciliado.pedidosPorStatus().get("APROVADO")).isEqualTo(aposRemover.pedidosPorStatus().get("APROVADO") - 1);
+        assertThat(reconciliado.contratosVigentes()).isEqualTo(aposRemover.contratosVigentes());
+        assertThat(creditoDe(reconciliado, banco.getId())).isEqualTo(creditoDe(aposRemover, banco.getId()));
+        assertThat(reconciliado.reconciliadoEm()).isAfterOrEqualTo(antes.reconciliadoEm());
+    }
+
+    private static CreditoAgente creditoDe(EstatisticasDashboard stats, Long agenteId) {
+        return stats.creditoAprovadoPorAgente().stream().filter(c -> c.agenteId() == agenteId).findFirst().orElse(null);
+    }
+
+    private static Date data(LocalDate dia) {
+        return java.sql.Date.valueOf(dia);
+    }
+}
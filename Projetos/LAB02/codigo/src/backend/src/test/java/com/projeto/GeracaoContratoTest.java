@@ -0,0 +1,128 @@
+package com.projeto;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.projeto.model.Agente;
+import com.projeto.model.Automovel;
+import com.projeto.model.Contrato;
+import com.projeto.model.Pedido;
+import com.projeto.model.Usuario;
+import com.projeto.repository.AutomovelRepository;
+import com.projeto.repository.ContratoRepository;
+import com.projeto.repository.PedidoRepository;
+import com.projeto.repository.UsuarioRepository;
+import com.projeto.service.DespachanteOutbox;
+import com.projeto.service.GeracaoContratoService;
+import com.projeto.service.PedidoService;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Geração de contratos: o tipo vem do proprietário do automóvel, o reprocessamento em lotes é idempotente
+ * (automóvel já contratado no período fica de fora) e a aprovação de um pedido gera o contrato pelo outbox.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:geracao-contrato-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "outbox.intervalo=1h",
+    "outbox.atraso-inicial=1h",
+    // lote menor que o número de pedidos, para exercitar o cursor entre transações
+    "contrato.geracao.lote=2"
+})
+@ActiveProfiles("dev")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class GeracaoContratoTest {
+
+    @Autowired
+    GeracaoContratoService geracaoContratoService;
+    @Autowired
+    PedidoService pedidoService;
+    @Autowired
+    DespachanteOutbox despachante;
+    @Autowired
+    UsuarioRepository usuarioRepository;
+    @Autowired
+    AutomovelRepository automovelRepository;
+    @Autowired
+    PedidoRepository pedidoRepository;
+    @Autowired
+    ContratoRepository contratoRepository;
+
+    private Long aprovadoBanco, aprovadoEmpresa, aprovadoCliente, duplicado, emAnalise;
+
+    @BeforeAll
+    void seed() {
+        Usuario cliente = usuarioRepository.save(new Usuario("Cliente Contrato", "GC-CLI", "RG", "Rua", "Dev", "x", Usuario.TipoUsuario.Cliente));
+        Agente banco = agente("GC-BAN", Agente.TipoAgente.Banco);
+        Automovel doBanco = automovelRepository.save(new Automovel("GC-B", "GC-MB", 2024, "Marca", "Modelo", banco));
+        Automovel doBanco2 = automovelRepository.save(new Automovel("GC-B2", "GC-MB2", 2024, "Marca", "Modelo", banco));
+        Automovel daEmpresa = automovelRepository.save(new Automovel("GC-E", "GC-ME", 2024, "Marca", "Modelo", agente("GC-EMP", Agente.TipoAgente.Empresa)));
+        Automovel doCliente = automovelRepository.save(new Automovel("GC-C", "GC-MC", 2024, "Marca", "Modelo", cliente));
+
+        aprovadoBanco = pedido(cliente, doBanco, Pedido.StatusPedido.Aprovado);
+        aprovadoEmpresa = pedido(cliente, daEmpresa, Pedido.StatusPedido.Aprovado);
+        aprovadoCliente = pedido(cliente, doCliente, Pedido.StatusPedido.Aprovado);
+        pedido(cliente, doCliente, Pedido.StatusPedido.Rejeitado);
+        // mesmo automóvel de um aprovado: o período gerado cruzaria o outro contrato, então fica sem contrato
+        duplicado = pedido(cliente, doCliente, Pedido.StatusPedido.Aprovado);
+        emAnalise = pedido(cliente, doBanco2, Pedido.StatusPedido.Em_analise);
+    }
+
+    @Test
+    @Order(1)
+    void gerarPendentes_criaUmContratoPorAprovado_eRepetirNaoDuplica() {
+        assertThat(geracaoContratoService.gerarPendentes()).isEqualTo(3);
+
+        Map<Long, Contrato> porPedido = contratosPorPedido();
+        assertThat(porPedido.keySet()).containsExactlyInAnyOrder(aprovadoBanco, aprovadoEmpresa, aprovadoCliente);
+        assertThat(porPedido).doesNotContainKey(duplicado);
+        assertThat(porPedido.get(aprovadoBanco).getTipoContrato()).isEqualTo(Contrato.TipoContrato.Banco);
+        assertThat(porPedido.get(aprovadoEmpresa).getTipoContrato()).isEqualTo(Contrato.TipoContrato.Empresa);
+        assertThat(porPedido.get(aprovadoCliente).getTipoContrato()).isEqualTo(Contrato.TipoContrato.Cliente);
+        Contrato c = porPedido.get(aprovadoBanco);
+        assertThat(c.getAutomovel().getPlaca()).isEqualTo("GC-B");
+        assertThat(c.getDataFim()).isAfter(c.getDataInicio());
+
+        assertThat(geracaoContratoService.gerarPendentes()).isZero();
+        assertThat(geracaoContratoService.gerarParaPedidos(List.of(aprovadoBanco, emAnalise))).isZero();
+        assertThat(contratoRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @Order(2)
+    void aprovacao_geraContratoPeloOutbox() {
+        pedidoService.alterarStatus(emAnalise, Pedido.StatusPedido.Aprovado);
+        assertThat(contratosPorPedido()).doesNotContainKey(emAnalise);
+
+        despachante.despachar();
+        Contrato gerado = contratosPorPedido().get(emAnalise);
+        assertThat(gerado).isNotNull();
+        assertThat(gerado.getTipoContrato()).isEqualTo(Contrato.TipoContrato.Banco);
+    }
+
+    private Agente agente(String cpf, Agente.TipoAgente tipo) {
+        Agente a = new Agente();
+        a.setNome("Agente " + cpf);
+        a.setCpf(cpf);
+        a.setSenha("x");
+        a.setTipoUsuario(Usuario.TipoUsuario.Agente);
+        a.setNomeAgente(tipo.name() + " " + cpf);
+        a.setTipoAgente(tipo);
+        return usuarioRepository.save(a);
+    }
+
+    private Long pedido(Usuario cliente, Automovel automovel, Pedido.StatusPedido status) {
+        return pedidoRepository.save(new Pedido(cliente, automovel, status, new Date())).getId();
+    }
+
+    private Map<Long, Contrato> contratosPorPedido() {
+        return contratoRepository.findAll().stream().collect(Collectors.toMap(c -> c.getPedido().getId(), Function.identity()));
+    }
+}
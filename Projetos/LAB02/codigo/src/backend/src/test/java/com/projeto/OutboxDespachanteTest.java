@@ -0,0 +1,187 @@
+package com.projeto;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.projeto.model.Automovel;
+import com.projeto.model.EventoOutbox;
+import com.projeto.model.Pedido;
+import com.projeto.model.Usuario;
+import com.projeto.repository.AutomovelRepository;
+import com.projeto.repository.EventoConsumidoRepository;
+import com.projeto.repository.EventoOutboxRepository;
+import com.projeto.repository.PedidoRepository;
+import com.projeto.repository.UsuarioRepository;
+import com.projeto.service.ConsumidorOutbox;
+import com.projeto.service.DespachanteOutbox;
+import com.projeto.service.OutboxService;
+import com.projeto.service.PedidoService;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Outbox: o evento nasce na mesma transação da mudança de status, o despachante entrega pelo menos uma vez
+ * e a falha de um consumidor não faz os demais reprocessarem o evento.
+ */
+@SpringBootTest(properties = {
+    // banco próprio e despachante acionado manualmente, para o teste não disputar eventos com outros contextos
+    "spring.datasource.url=jdbc:h2:mem:outbox-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "outbox.intervalo=1h",
+    "outbox.atraso-inicial=1h"
+})
+@ActiveProfiles("dev")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class OutboxDespachanteTest {
+
+    static class ConsumidorInstavel implements ConsumidorOutbox {
+        final AtomicBoolean falharProxima = new AtomicBoolean();
+        final List<Long> processados = new CopyOnWriteArrayList<>();
+        final Set<Long> venenosos = ConcurrentHashMap.newKeySet();
+
+        @Override public String nome() { return "teste-instavel"; }
+        @Override public boolean interessa(String tipo) { return EventoOutbox.PEDIDO_STATUS.equals(tipo); }
+        @Override public void processar(List<EventoOutbox> eventos) {
+            if (falharProxima.getAndSet(false)) throw new IllegalStateException("falha simulada");
+            if (eventos.stream().anyMatch(e -> venenosos.contains(e.getId()))) throw new IllegalStateException("evento venenoso");
+            eventos.forEach(e -> processados.add(e.getId()));
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        ConsumidorInstavel consumidorInstavel() {
+            return new ConsumidorInstavel();
+        }
+    }
+
+    @Autowired
+    PedidoService pedidoService;
+    @Autowired
+    OutboxService outboxService;
+    @Autowired
+    DespachanteOutbox despachante;
+    @Autowired
+    EventoOutboxRepository eventoOutboxRepository;
+    @Autowired
+    EventoConsumidoRepository eventoConsumidoRepository;
+    @Autowired
+    UsuarioRepository usuarioRepository;
+    @Autowired
+    AutomovelRepository automovelRepository;
+    @Autowired
+    PedidoRepository pedidoRepository;
+    @Autowired
+    ConsumidorInstavel consumidor;
+
+    private Long pedidoId;
+
+    @BeforeAll
+    void seed() {
+        String sufixo = UUID.randomUUID().toString().substring(0, 6);
+        Usuario cliente = usuarioRepository.save(new Usuario("Cliente Outbox", "O" + sufixo, "RG", "Rua", "Dev", "x", Usuario.TipoUsuario.Cliente));
+        Automovel a = automovelRepository.save(new Automovel("OB" + sufixo, "OM" + sufixo, 2024, "Marca", "Modelo", cliente));
+        pedidoId = pedidoRepository.save(new Pedido(cliente, a, Pedido.StatusPedido.Em_analise, new Date())).getId();
+    }
+
+    @Test
+    void mudancaDeStatus_gravaEvento_eDespachanteEntregaUmaVezPorConsumidor() {
+        pedidoService.alterarStatus(pedidoId, Pedido.StatusPedido.Aprovado);
+        List<EventoOutbox> pendentes = eventoOutboxRepository.findAll().stream()
+            .filter(e -> pedidoId.equals(e.getAgregadoId()) && e.getProcessadoEm() == null).toList();
+        assertThat(pendentes).hasSize(1);
+        Long eventoId = pendentes.get(0).getId();
+
+        // 1º ciclo: o consumidor instável falha, a notificação conclui
+        consumidor.falharProxima.set(true);
+        despachante.despachar();
+        EventoOutbox aposFalha = eventoOutboxRepository.findById(eventoId).orElseThrow();
+        assertThat(aposFalha.getProcessadoEm()).isNull();
+        assertThat(aposFalha.getTentativas()).isEqualTo(1);
+        assertThat(aposFalha.getUltimoErro()).contains("teste-instavel");
+        assertThat(consumidos("notificacao", eventoId)).isTrue();
+
+        // 2º ciclo: reentrega só para quem falhou
+        despachante.despachar();
+        assertThat(eventoOutboxRepository.findById(eventoId).orElseThrow().getProcessadoEm()).isNotNull();
+        assertThat(consumidor.processados).containsOnlyOnce(eventoId);
+        assertThat(consumidos("teste-instavel", eventoId)).isTrue();
+
+        // conflito (já aprovado): rollback não deixa evento órfão
+        long antes = eventoOutboxRepository.count();
+        assertThatThrownBy(() -> pedidoService.alterarStatus(pedidoId, Pedido.StatusPedido.Rejeitado))
+            .isInstanceOf(ResponseStatusException.class);
+        assertThat(eventoOutboxRepository.count()).isEqualTo(antes);
+    }
+
+    @Test
+    void eventoQueSempreFalha_naoCobraTentativaDosOutrosDoLote() {
+        Usuario cliente = usuarioRepository.findById(pedidoRepository.findById(pedidoId).orElseThrow().getCliente().getId()).orElseThrow();
+        Automovel a = automovelRepository.findAll().get(0);
+        List<Long> pedidos = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Long id = pedidoRepository.save(new Pedido(cliente, a, Pedido.StatusPedido.Em_analise, new Date())).getId();
+            pedidoService.alterarStatus(id, Pedido.StatusPedido.Rejeitado);
+            pedidos.add(id);
+        }
+        List<EventoOutbox> eventos = eventoOutboxRepository.findAll().stream()
+            .filter(e -> pedidos.contains(e.getAgregadoId()) && e.getProcessadoEm() == null).toList();
+        assertThat(eventos).hasSize(3);
+        Long venenoso = eventos.get(1).getId();
+        consumidor.venenosos.add(venenoso);
+        try {
+            despachante.despachar();
+            for (EventoOutbox e : eventos) {
+                EventoOutbox atual = eventoOutboxRepository.findById(e.getId()).orElseThrow();
+                if (e.getId().equals(venenoso)) {
+                    assertThat(atual.getProcessadoEm()).isNull();
+                    assertThat(atual.getTentativas()).isEqualTo(1);
+                    assertThat(atual.getUltimoErro()).contains("evento venenoso");
+                } else {
+                    assertThat(atual.getProcessadoEm()).isNotNull();
+                    assertThat(atual.getTentativas()).isZero();
+                    assertThat(consumidor.processados).containsOnlyOnce(e.getId());
+                }
+            }
+        } finally {
+            consumidor.venenosos.clear();
+        }
+    }
+
+    @Test
+    void atualizarSemStatus_mantemStatusENaoGeraEvento() {
+        Pedido existente = pedidoRepository.findById(pedidoId).orElseThrow();
+        Pedido novo = pedidoRepository.save(new Pedido(existente.getCliente(), existente.getAutomovel(), Pedido.StatusPedido.Em_analise, new Date()));
+        long eventosAntes = eventoOutboxRepository.count();
+
+        Pedido corpo = new Pedido(existente.getCliente(), existente.getAutomovel(), null, new Date());
+        assertThat(pedidoService.atualizar(novo.getId(), corpo).orElseThrow().getStatus()).isEqualTo(Pedido.StatusPedido.Em_analise);
+        assertThat(pedidoRepository.findById(novo.getId()).orElseThrow().getStatus()).isEqualTo(Pedido.StatusPedido.Em_analise);
+        assertThat(eventoOutboxRepository.count()).isEqualTo(eventosAntes);
+
+        // o pedido segue utilizável pela máquina de estados
+        assertThat(pedidoService.alterarStatus(novo.getId(), Pedido.StatusPedido.Aprovado).getStatus()).isEqualTo(Pedido.StatusPedido.Aprovado);
+    }
+
+    @Test
+    void registrarForaDeTransacao_eRecusado() {
+        assertThatThrownBy(() -> outboxService.registrar(EventoOutbox.PEDIDO_STATUS, 1L, Map.of()))
+            .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    private boolean consumidos(String consumidor, Long eventoId) {
+        return eventoConsumidoRepository.findEventoIdsConsumidos(consumidor, List.of(eventoId)).contains(eventoId);
+    }
+}
@@ -0,0 +1,202 @@
+package com.projeto;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.projeto.dto.AgenteResumo;
+import com.projeto.dto.PedidoResumo;
+import com.projeto.dto.UsuarioResumo;
+import com.projeto.model.Agente;
+import com.projeto.model.Automovel;
+import com.projeto.model.Credito;
+import com.projeto.model.Pedido;
+import com.projeto.model.Usuario;
+import com.projeto.repository.AutomovelRepository;
+import com.projeto.repository.CreditoRepository;
+import com.projeto.repository.PedidoRepository;
+import com.projeto.repository.UsuarioRepository;
+import com.projeto.service.AgenteService;
+import com.projeto.service.PedidoService;
+import com.projeto.service.UsuarioService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Garante que as leituras de Pedido não fazem N+1:
+ * cada consulta deve emitir um único SELECT, independente da quantidade de linhas.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("dev")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class PedidoConsultaStatementCountTest {
+
+    private static final int QUANTIDADE = 12;
+
+    @Autowired
+    PedidoRepository pedidoRepository;
+    @Autowired
+    UsuarioRepository usuarioRepository;
+    @Autowired
+    AutomovelRepository automovelRepository;
+    @Autowired
+    CreditoRepository creditoRepository;
+    @Autowired
+    PedidoService pedidoService;
+    @Autowired
+    UsuarioService usuarioService;
+    @Autowired
+    AgenteService agenteService;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private Statistics stats;
+    private Long clienteId;
+    private Long primeiroPedidoId;
+    private Long agenteId;
+
+    @BeforeAll
+    void seed() {
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String sufixo = UUID.randomUUID().toString().substring(0, 6);
+
+        Usuario cliente = usuarioRepository.save(new Usuario("Cliente N1", "N1" + sufixo, "RG", "Rua", "Dev", "x", Usuario.TipoUsuario.Cliente));
+        clienteId = cliente.getId();
+        Usuario historico = usuarioRepository.save(new Usuario("Cliente Histórico", "H" + sufixo, "RG", "Rua", "Dev", "x", Usuario.TipoUsuario.Cliente));
+        for (int i = 0; i < QUANTIDADE; i++) {
+            // cada automóvel tem um proprietário distinto para que um N+1 apareça na contagem
+            Usuario dono = usuarioRepository.save(new Usuario("Dono " + i, "D" + i + sufixo, "RG", "Rua", "Dev", "x", Usuario.TipoUsuario.Cliente));
+            Automovel a = automovelRepository.save(new Automovel("P" + i + sufixo, "M" + i + sufixo, 2024, "Marca", "Modelo", dono));
+            Pedido p = pedidoRepository.save(new Pedido(cliente, a, Pedido.StatusPedido.Em_analise, new Date()));
+            if (primeiroPedidoId == null) primeiroPedidoId = p.getId();
+            // histórico que a fila de pendentes não deve percorrer
+            pedidoRepository.save(new Pedido(historico, a, Pedido.StatusPedido.Aprovado, new Date()));
+        }
+
+        Agente banco = new Agente();
+        banco.setNome("Banco N1");
+        banco.setCpf("B" + sufixo);
+        banco.setSenha("x");
+        banco.setTipoUsuario(Usuario.TipoUsuario.Agente);
+        banco.setNomeAgente("Banco N1");
+        banco.setTipoAgente(Agente.TipoAgente.Banco);
+        banco = usuarioRepository.save(banco);
+        agenteId = banco.getId();
+        for (int i = 0; i < 3; i++) creditoRepository.save(new Credito(banco, 1000.0 * (i + 1), 12, 1.0));
+    }
+
+    @BeforeEach
+    void limparEstatisticas() {
+        stats.clear();
+    }
+
+    @Test
+    void findAll_usaUmSelect() {
+        assertThat(pedidoRepository.findAll()).hasSizeGreaterThanOrEqualTo(QUANTIDADE);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findByClienteId_usaUmSelect() {
+        assertThat(pedidoRepository.findByClienteId(clienteId)).hasSize(QUANTIDADE);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void paginaPorCursor_usaUmSelect() {
+        List<Pedido> pagina = pedidoService.listarPagina(primeiroPedidoId - 1, QUANTIDADE);
+        assertThat(pagina).hasSize(QUANTIDADE);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void filaPorStatus_cursorRemovidoDa400_eSemDataVemPorUltimo() {
+        Usuario dono = usuarioRepository.findById(clienteId).orElseThrow();
+        Automovel a = automovelRepository.findAll().get(0);
+        Long semData = pedidoRepository.save(new Pedido(dono, a, Pedido.StatusPedido.Cancelado, null)).getId();
+        Long comData = pedidoRepository.save(new Pedido(dono, a, Pedido.StatusPedido.Cancelado, new Date())).getId();
+        Long removido = pedidoRepository.save(new Pedido(dono, a, Pedido.StatusPedido.Cancelado, new Date())).getId();
+
+        List<Long> fila = new ArrayList<>();
+        List<Pedido> pagina = pedidoService.listarPorStatus(Pedido.StatusPedido.Cancelado, null, 2);
+        while (!pagina.isEmpty()) {
+            pagina.forEach(p -> fila.add(p.getId()));
+            pagina = pedidoService.listarPorStatus(Pedido.StatusPedido.Cancelado, pagina.get(pagina.size() - 1).getId(), 2);
+        }
+        assertThat(fila).doesNotHaveDuplicates().contains(semData, comData);
+        assertThat(fila.indexOf(comData)).isLessThan(fila.indexOf(semData));
+
+        pedidoRepository.deleteById(removido);
+        assertThatThrownBy(() -> pedidoService.listarPorStatus(Pedido.StatusPedido.Cancelado, removido, 2))
+            .isInstanceOfSatisfying(ResponseStatusException.class, e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void filaPorStatus_usaUmSelectPorPaginaSemRepetirItens() {
+        List<Pedido> primeira = pedidoService.listarPorStatus(Pedido.StatusPedido.Em_analise, null, 5);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+        List<Pedido> segunda = pedidoService.listarPorStatus(Pedido.StatusPedido.Em_analise, primeira.get(4).getId(), 5);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+
+        List<Pedido> fila = new ArrayList<>(primeira);
+        fila.addAll(segunda);
+        assertThat(fila).hasSize(10).allMatch(p -> p.getStatus() == Pedido.StatusPedido.Em_analise);
+        assertThat(fila).extracting(Pedido::getId).doesNotHaveDuplicates();
+        for (int i = 1; i < fila.size(); i++) {
+            Pedido ant = fila.get(i - 1), atual = fila.get(i);
+            int cmp = ant.getDataPedido().compareTo(atual.getDataPedido());
+            assertThat(cmp < 0 || (cmp == 0 && ant.getId() < atual.getId())).isTrue();
+        }
+    }
+
+    @Test
+    void filaPorStatus_percorreIndiceComposto() {
+        String plano = jdbcTemplate.queryForObject(
+            "explain select id from pedido where status = 'Em_analise' order by data_pedido, id", String.class);
+        assertThat(plano.toUpperCase()).contains("IDX_PEDIDO_STATUS_DATA");
+    }
+
+    @Test
+    void resumo_usaUmSelectSemCarregarEntidades() {
+        List<PedidoResumo> resumo = pedidoService.listarResumo(primeiroPedidoId - 1, QUANTIDADE);
+        assertThat(resumo).hasSize(QUANTIDADE);
+        assertThat(resumo.get(0).clienteId()).isEqualTo(clienteId);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(stats.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void resumoPorCliente_usaUmSelectSemCarregarEntidades() {
+        List<PedidoResumo> resumo = pedidoService.listarResumoPorCliente(clienteId);
+        assertThat(resumo).hasSize(QUANTIDADE).allMatch(r -> r.clienteId().equals(clienteId) && r.automovelPlaca() != null);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(stats.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void resumoDeUsuarios_eDeAgentes_usamUmSelectCadaSemCarregarEntidades() {
+        List<UsuarioResumo> usuarios = usuarioService.listarResumo(clienteId - 1, 2);
+        assertThat(usuarios).hasSize(2);
+        assertThat(usuarios.get(0)).isEqualTo(new UsuarioResumo(clienteId, "Cliente N1", Usuario.TipoUsuario.Cliente));
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+
+        AgenteResumo agente = agenteService.listarResumo().stream().filter(g -> g.id().equals(agenteId)).findFirst().orElseThrow();
+        assertThat(agente.creditos()).isEqualTo(3);
+        assertThat(agente.valorAprovado()).isEqualTo(6000.0);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(stats.getEntityLoadCount()).isZero();
+    }
+}
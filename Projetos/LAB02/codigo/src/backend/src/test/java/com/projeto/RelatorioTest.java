@@ -0,0 +1,128 @@
+package com.projeto;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.projeto.dto.AprovacaoAgente;
+import com.projeto.dto.ReceitaMensal;
+import com.projeto.dto.UtilizacaoAutomovel;
+import com.projeto.model.Agente;
+import com.projeto.model.Automovel;
+import com.projeto.model.Contrato;
+import com.projeto.model.Pedido;
+import com.projeto.model.Usuario;
+import com.projeto.repository.AutomovelRepository;
+import com.projeto.repository.ContratoRepository;
+import com.projeto.repository.PedidoRepository;
+import com.projeto.repository.UsuarioRepository;
+import com.projeto.service.RelatorioService;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Relatórios agregados no banco: receita por mês, aprovação por agente e utilização por automóvel,
+ * e o reaproveitamento do mesmo resultado dentro da janela do cache.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:relatorio-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "outbox.intervalo=1h",
+    "outbox.atraso-inicial=1h",
+    "relatorio.cache.janela=1h"
+})
+@ActiveProfiles("dev")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class RelatorioTest {
+
+    @Autowired
+    RelatorioService relatorioService;
+    @Autowired
+    UsuarioRepository usuarioRepository;
+    @Autowired
+    AutomovelRepository automovelRepository;
+    @Autowired
+    PedidoRepository pedidoRepository;
+    @Autowired
+    ContratoRepository contratoRepository;
+
+    private Usuario cliente;
+    private Agente banco;
+    private Automovel carroA, carroB;
+
+    @BeforeAll
+    void seed() {
+        cliente = usuarioRepository.save(new Usuario("Cliente Relatorio", "RL-CLI", "RG", "Rua", "Dev", "x", Usuario.TipoUsuario.Cliente));
+        banco = new Agente();
+        banco.setNome("Agente RL");
+        banco.setCpf("RL-BAN");
+        banco.setSenha("x");
+        banco.setTipoUsuario(Usuario.TipoUsuario.Agente);
+        banco.setNomeAgente("Banco RL");
+        banco.setTipoAgente(Agente.TipoAgente.Banco);
+        banco = usuarioRepository.save(banco);
+        carroA = automovelRepository.save(new Automovel("RL-A", "RL-MA", 2024, "Marca", "Modelo A", banco));
+        carroB = automovelRepository.save(new Automovel("RL-B", "RL-MB", 2024, "Marca", "Modelo B", banco));
+
+        contrato(carroA, 1000.0, "2025-01-01", "2025-01-10");
+        contrato(carroA, 500.0, "2025-02-01", "2025-02-28");
+        contrato(carroB, 300.0, "2025-01-05", "2025-01-20");
+        pedidoRepository.save(new Pedido(cliente, carroA, Pedido.StatusPedido.Rejeitado, new Date()));
+        pedidoRepository.save(new Pedido(cliente, carroB, Pedido.StatusPedido.Em_analise, new Date()));
+    }
+
+    @Test
+    void receitaMensal_agrupaPorMesDeInicio() {
+        List<ReceitaMensal> meses = relatorioService.receitaMensal(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+
+        assertThat(meses).containsExactly(
+            new ReceitaMensal(2025, 1, 2L, 1300.0),
+            new ReceitaMensal(2025, 2, 1L, 500.0));
+        assertThatThrownBy(() -> relatorioService.receitaMensal(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)))
+            .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void aprovacaoPorAgente_contaDecisoesDosAutomoveisDoAgente() {
+        AprovacaoAgente a = relatorioService.aprovacaoPorAgente().stream()
+            .filter(r -> r.agenteId().equals(banco.getId())).findFirst().orElseThrow();
+
+        assertThat(a.tipoAgente()).isEqualTo(Agente.TipoAgente.Banco);
+        assertThat(a.pedidos()).isEqualTo(5);
+        assertThat(a.aprovados()).isEqualTo(3);
+        assertThat(a.rejeitados()).isEqualTo(1);
+        assertThat(a.taxaAprovacao()).isEqualTo(0.75);
+    }
+
+    @Test
+    void utilizacao_contaSoOsDiasDentroDaJanela_eReaproveitaOResultado() {
+        List<UtilizacaoAutomovel> janeiro = relatorioService.utilizacaoPorAutomovel(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), 10);
+
+        // fevereiro do carro A fica fora; o B (16 dias) vem antes do A (10 dias)
+        assertThat(janeiro).extracting(UtilizacaoAutomovel::automovelId).containsExactly(carroB.getId(), carroA.getId());
+        assertThat(janeiro.get(0).diasContratados()).isEqualTo(16);
+        assertThat(janeiro.get(0).taxaUtilizacao()).isEqualTo(Math.round(10_000.0 * 16 / 31) / 10_000.0);
+        assertThat(janeiro.get(1).diasContratados()).isEqualTo(10);
+
+        // contrato recortado pelos dois lados da janela
+        List<UtilizacaoAutomovel> meio = relatorioService.utilizacaoPorAutomovel(LocalDate.of(2025, 1, 8), LocalDate.of(2025, 1, 9), 10);
+        assertThat(meio).extracting(UtilizacaoAutomovel::diasContratados).containsExactly(2L, 2L);
+
+        // mesma janela do cache: o mesmo resultado, sem voltar ao banco
+        assertThat(relatorioService.utilizacaoPorAutomovel(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), 10)).isSameAs(janeiro);
+    }
+
+    private void contrato(Automovel carro, Double valor, String inicio, String fim) {
+        Pedido pedido = pedidoRepository.save(new Pedido(cliente, carro, Pedido.StatusPedido.Aprovado, new Date()));
+        contratoRepository.save(new Contrato(pedido, Contrato.TipoContrato.Banco, valor, data(inicio), data(fim), carro));
+    }
+
+    private static Date data(String iso) {
+        return java.sql.Date.valueOf(LocalDate.parse(iso));
+    }
+}
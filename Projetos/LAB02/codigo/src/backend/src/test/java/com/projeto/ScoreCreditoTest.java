@@ -0,0 +1,130 @@
+package com.projeto;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.projeto.dto.AvaliacaoCredito;
+import com.projeto.dto.AvaliacaoPedido;
+import com.projeto.model.Automovel;
+import com.projeto.model.Contrato;
+import com.projeto.model.Pedido;
+import com.projeto.model.Rendimento;
+import com.projeto.model.Usuario;
+import com.projeto.repository.AutomovelRepository;
+import com.projeto.repository.ContratoRepository;
+import com.projeto.repository.PedidoRepository;
+import com.projeto.repository.UsuarioRepository;
+import com.projeto.service.ScoreCreditoService;
+import com.projeto.service.UsuarioService;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Score de crédito: renda menos parcelas de contratos vigentes, memorizado por cliente até um rendimento
+ * mudar, e avaliação em lote da fila pendente.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:score-credito-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "outbox.intervalo=1h",
+    "outbox.atraso-inicial=1h",
+    // blocos de um cliente, para o lote ser dividido entre as threads
+    "credito.score.lote=1",
+    "credito.score.threads=2"
+})
+@ActiveProfiles("dev")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ScoreCreditoTest {
+
+    @Autowired
+    ScoreCreditoService scoreCreditoService;
+    @Autowired
+    UsuarioService usuarioService;
+    @Autowired
+    UsuarioRepository usuarioRepository;
+    @Autowired
+    AutomovelRepository automovelRepository;
+    @Autowired
+    PedidoRepository pedidoRepository;
+    @Autowired
+    ContratoRepository contratoRepository;
+
+    private Long comRenda, semRenda;
+    private final List<Long> pendentes = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        Usuario a = usuarioRepository.save(new Usuario("Cliente Renda", "SC-A", "RG", "Rua", "Dev", "x", Usuario.TipoUsuario.Cliente));
+        Usuario b = usuarioRepository.save(new Usuario("Cliente Sem Renda", "SC-B", "RG", "Rua", "Dev", "x", Usuario.TipoUsuario.Cliente));
+        comRenda = a.getId();
+        semRenda = b.getId();
+        usuarioService.adicionarRendimento(comRenda, new Rendimento(5000.0, "Empresa 1", null));
+        usuarioService.adicionarRendimento(comRenda, new Rendimento(3000.0, "Empresa 2", null));
+
+        Automovel carro = automovelRepository.save(new Automovel("SC-1", "SC-M1", 2024, "Marca", "Modelo", a));
+        // contrato vigente de 12 mil em 12 meses: parcela de mil
+        Pedido aprovado = pedidoRepository.save(new Pedido(a, carro, Pedido.StatusPedido.Aprovado, new Date()));
+        Calendar cal = Calendar.getInstance();
+        Date inicio = cal.getTime();
+        cal.add(Calendar.MONTH, 12);
+        contratoRepository.save(new Contrato(aprovado, Contrato.TipoContrato.Cliente, 12000.0, inicio, cal.getTime(), carro));
+
+        pendentes.add(pedidoRepository.save(new Pedido(a, carro, Pedido.StatusPedido.Em_analise, new Date())).getId());
+        pendentes.add(pedidoRepository.save(new Pedido(b, carro, Pedido.StatusPedido.Em_analise, new Date())).getId());
+        pendentes.add(pedidoRepository.save(new Pedido(a, carro, Pedido.StatusPedido.Em_analise, new Date())).getId());
+    }
+
+    @Test
+    @Order(1)
+    void avaliar_descontaParcelasVigentes_eMemoriza() {
+        AvaliacaoCredito av = scoreCreditoService.avaliar(comRenda);
+        assertThat(av.rendaMensal()).isEqualTo(8000.0);
+        assertThat(av.parcelasAtuais()).isEqualTo(1000.0);
+        assertThat(av.capacidadeMensal()).isEqualTo(1400.0);
+        assertThat(av.aprovado()).isTrue();
+        assertThat(av.score()).isBetween(300, 1000);
+        assertThat(av.prazoPagamento()).isEqualTo(48);
+        // parcela de 1400 na tabela Price devolve o valor proposto
+        double i = av.taxaJuros() / 100;
+        assertThat(av.valorAprovado() * i / (1 - Math.pow(1 + i, -48))).isCloseTo(1400.0, within(0.05));
+
+        assertThat(scoreCreditoService.avaliar(comRenda)).isSameAs(av);
+
+        AvaliacaoCredito sem = scoreCreditoService.avaliar(semRenda);
+        assertThat(sem.score()).isZero();
+        assertThat(sem.aprovado()).isFalse();
+        assertThat(sem.valorAprovado()).isZero();
+
+        assertThatThrownBy(() -> scoreCreditoService.avaliar(999_999L)).isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    @Order(2)
+    void novoRendimento_invalidaScore() {
+        AvaliacaoCredito antes = scoreCreditoService.avaliar(comRenda);
+        usuarioService.adicionarRendimento(comRenda, new Rendimento(2000.0, "Empresa 3", null));
+
+        AvaliacaoCredito depois = scoreCreditoService.avaliar(comRenda);
+        assertThat(depois).isNotSameAs(antes);
+        assertThat(depois.rendaMensal()).isEqualTo(10000.0);
+        assertThat(depois.score()).isGreaterThan(antes.score());
+        assertThat(depois.valorAprovado()).isGreaterThan(antes.valorAprovado());
+    }
+
+    @Test
+    @Order(3)
+    void avaliarPedidosPendentes_cobreAFilaNaOrdem() {
+        List<AvaliacaoPedido> lote = scoreCreditoService.avaliarPedidosPendentes();
+        assertThat(lote).extracting(AvaliacaoPedido::pedidoId).containsExactlyElementsOf(pendentes);
+        assertThat(lote).extracting(a -> a.avaliacao().clienteId()).containsExactly(comRenda, semRenda, comRenda);
+        assertThat(lote.get(0).avaliacao()).isEqualTo(scoreCreditoService.avaliar(comRenda));
+        assertThat(lote.get(1).avaliacao().aprovado()).isFalse();
+    }
+}
@@ -0,0 +1,113 @@
+package com.projeto;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.projeto.model.Agente;
+import com.projeto.model.Cliente;
+import com.projeto.model.Credito;
+import com.projeto.model.Usuario;
+import com.projeto.repository.CreditoRepository;
+import com.projeto.repository.UsuarioRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Profile tabela-unica: a hierarquia de Usuario fica só em "usuario", com a classe em tipo_entidade, e um banco no
+ * modo JOINED é migrado na subida seguinte sem perder o tipo dos usuários nem os dados de agente.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:tabela-unica-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "outbox.intervalo=1h",
+    "outbox.atraso-inicial=1h"
+})
+@ActiveProfiles({"dev", "tabela-unica"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class TabelaUnicaTest {
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test @Order(1)
+    void hierarquiaEmUmaTabela() {
+        Long agenteId = usuarioRepository.save(agente("TU-AG-1", "Banco Único", Agente.TipoAgente.Banco)).getId();
+
+        Cliente cliente = new Cliente();
+        cliente.setNome("Cliente TU");
+        cliente.setCpf("TU-CL-1");
+        cliente.setTipoUsuario(Usuario.TipoUsuario.Cliente);
+        Long clienteId = usuarioRepository.save(cliente).getId();
+
+        assertThat(usuarioRepository.findById(agenteId).orElseThrow())
+            .isInstanceOfSatisfying(Agente.class, a -> assertThat(a.getNomeAgente()).isEqualTo("Banco Único"));
+        assertThat(usuarioRepository.findById(clienteId).orElseThrow()).isInstanceOf(Cliente.class);
+        assertThat(jdbcTemplate.queryForObject("select tipo_entidade from usuario where id = ?", String.class, agenteId))
+            .isEqualTo("Agente");
+        assertThat(jdbcTemplate.queryForObject(
+            "select count(*) from information_schema.tables where table_name in ('AGENTE', 'CLIENTE')", Long.class)).isZero();
+    }
+
+    @Test @Order(2)
+    void migraBancoCriadoNoModoJoined() {
+        // argumentos de linha de comando: precisam valer sobre a URL do application-dev.properties
+        String[] propriedades = {
+            "--spring.datasource.url=jdbc:h2:mem:tabela-unica-migracao;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "--outbox.intervalo=1h",
+            "--outbox.atraso-inicial=1h"
+        };
+        Long agenteId, clienteId, usuarioId;
+        try (ConfigurableApplicationContext joined = contexto(propriedades, "dev")) {
+            UsuarioRepository repositorio = joined.getBean(UsuarioRepository.class);
+            agenteId = repositorio.save(agente("TU-LEG-A", "Locadora Legada", Agente.TipoAgente.Empresa)).getId();
+            joined.getBean(CreditoRepository.class).save(new Credito((Agente) repositorio.findById(agenteId).orElseThrow(), 5_000.0, 12, 1.0));
+            Cliente cliente = new Cliente();
+            cliente.setNome("Cliente legado");
+            cliente.setCpf("TU-LEG-C");
+            cliente.setTipoUsuario(Usuario.TipoUsuario.Cliente);
+            clienteId = repositorio.save(cliente).getId();
+            usuarioId = repositorio.save(new Usuario("Usuario legado", "TU-LEG-U", null, null, null, null, Usuario.TipoUsuario.Cliente)).getId();
+        }
+
+        try (ConfigurableApplicationContext unica = contexto(propriedades, "dev", "tabela-unica")) {
+            UsuarioRepository repositorio = unica.getBean(UsuarioRepository.class);
+            assertThat(repositorio.findById(agenteId).orElseThrow()).isInstanceOfSatisfying(Agente.class, a -> {
+                assertThat(a.getNomeAgente()).isEqualTo("Locadora Legada");
+                assertThat(a.getTipoAgente()).isEqualTo(Agente.TipoAgente.Empresa);
+            });
+            assertThat(repositorio.findById(clienteId).orElseThrow()).isInstanceOf(Cliente.class);
+            assertThat(repositorio.findById(usuarioId).orElseThrow())
+                .isExactlyInstanceOf(Usuario.class)
+                .extracting(Usuario::getTipoUsuario).isEqualTo(Usuario.TipoUsuario.Cliente);
+            assertThat(unica.getBean(CreditoRepository.class).somarPorAgente())
+                .anySatisfy(c -> assertThat(c.agenteId()).isEqualTo(agenteId));
+
+            // a chave antiga de credito.banco para agente não barra créditos de agentes criados só em usuario
+            Agente novo = repositorio.save(agente("TU-AG-2", "Banco novo", Agente.TipoAgente.Banco));
+            assertThat(unica.getBean(CreditoRepository.class).save(new Credito(novo, 10_000.0, 24, 1.5)).getId()).isNotNull();
+        }
+    }
+
+    private static ConfigurableApplicationContext contexto(String[] propriedades, String... perfis) {
+        return new SpringApplicationBuilder(Application.class).web(WebApplicationType.NONE)
+            .profiles(perfis).run(propriedades);
+    }
+
+    private static Agente agente(String cpf, String nomeAgente, Agente.TipoAgente tipo) {
+        Agente agente = new Agente();
+        agente.setNome(nomeAgente);
+        agente.setCpf(cpf);
+        agente.setTipoUsuario(Usuario.TipoUsuario.Agente);
+        agente.setNomeAgente(nomeAgente);
+        agente.setTipoAgente(tipo);
+        return agente;
+    }
+}
@@ -0,0 +1,288 @@
+package com.projeto.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projeto.Application;
+import com.projeto.config.GeradorDadosCarga;
+
+/**
+ * Driver de carga HTTP: reproduz uma mistura de operações contra a API e reporta p50/p99 e vazão.
+ * Sem -Dcarga.url sobe a aplicação localmente com o profile "carga" (H2 + gerador de dados).
+ *
+ * Executar: mvn -Pcarga -DskipTests verify [-Dcarga.threads=32 -Dcarga.duracao=60 -Dgerador.clientes=10000]
+ */
+public class DriverCarga {
+
+    enum Operacao { LOGIN, LISTAR_POR_CLIENTE, CRIAR_PEDIDO, ATUALIZAR_STATUS }
+
+    // 409 é contado à parte: nem sucesso (não mede o caminho normal) nem falha do servidor
+    enum Resultado { OK, CONFLITO, ERRO }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final String[] STATUS = {"APROVADO", "REJEITADO", "CANCELADO"};
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String baseUrl;
+    private final int clientes;
+    private final List<Long> clienteIds;
+    private final List<Long> automovelIds;
+    // Pedidos pendentes: cada troca de status consome um (uma transição real por pedido); os criados na carga entram no fim
+    private final Queue<Long> pendentes;
+
+    DriverCarga(String baseUrl, int clientes, List<Long> clienteIds, List<Long> automovelIds, Collection<Long> pendentes) {
+        this.baseUrl = baseUrl;
+        this.clientes = clientes;
+        this.clienteIds = List.copyOf(clienteIds);
+        this.automovelIds = List.copyOf(automovelIds);
+        this.pendentes = new ConcurrentLinkedQueue<>(pendentes);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = Integer.getInteger("carga.threads", 16);
+        int duracao = Integer.getInteger("carga.duracao", 30);
+        int aquecimento = Integer.getInteger("carga.aquecimento", 5);
+        int clientes = Integer.getInteger("gerador.clientes", 1000);
+        Map<Operacao, Integer> mix = lerMix(System.getProperty("carga.mix", "login:30,listar:40,criar:20,status:10"));
+        String url = System.getProperty("carga.url");
+        Path saida = Path.of(System.getProperty("carga.resultado", "target/carga-result.json"));
+
+        ConfigurableApplicationContext app = null;
+        if (url == null || url.isBlank()) {
+            List<String> props = new ArrayList<>(List.of("server.port=0", "logging.level.root=WARN"));
+            System.getProperties().stringPropertyNames().stream()
+                .filter(k -> k.startsWith("gerador.") || k.startsWith("spring.") || k.startsWith("login."))
+                .forEach(k -> props.add(k + "=" + System.getProperty(k)));
+            app = new SpringApplicationBuilder(Application.class).profiles("carga")
+                .properties(props.toArray(String[]::new)).run();
+            url = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+        }
+
+        try {
+            DriverCarga driver = DriverCarga.descobrir(url, clientes);
+            Map<String, Object> relatorio = driver.executar(threads, aquecimento, duracao, mix);
+            Files.createDirectories(saida.toAbsolutePath().getParent());
+            JSON.writerWithDefaultPrettyPrinter().writeValue(saida.toFile(), relatorio);
+            System.out.println("Resultado salvo em " + saida.toAbsolutePath());
+        } finally {
+            if (app != null) app.close();
+        }
+    }
+
+    // Ids existentes vêm das listagens por cursor: todos os clientes (a mesma população que o LOGIN sorteia),
+    // todos os automóveis e só os pedidos pendentes, já que um pedido decidido só responderia 409
+    static DriverCarga descobrir(String url, int clientes) throws Exception {
+        HttpClient http = HttpClient.newHttpClient();
+        List<Long> clienteIds = new ArrayList<>();
+        for (Map<?, ?> u : paginar(http, url + "/usuarios/resumo?limit=500")) {
+            if ("Cliente".equals(u.get("tipoUsuario"))) clienteIds.add(id(u));
+        }
+        List<Long> automovelIds = new ArrayList<>();
+        HttpResponse<String> resp = http.send(HttpRequest.newBuilder(URI.create(url + "/automoveis")).build(),
+            HttpResponse.BodyHandlers.ofString());
+        for (Map<?, ?> a : JSON.readValue(resp.body(), Map[].class)) automovelIds.add(id(a));
+        List<Long> pendentes = new ArrayList<>();
+        for (Map<?, ?> p : paginar(http, url + "/pedidos?status=PENDENTE&limit=500")) pendentes.add(id(p));
+        if (clienteIds.isEmpty() || automovelIds.isEmpty()) {
+            throw new IllegalStateException("Nenhum cliente ou automóvel encontrado em " + url + "; gere dados com o profile carga");
+        }
+        return new DriverCarga(url, clientes, clienteIds, automovelIds, pendentes);
+    }
+
+    // Segue o X-Next-After até a última página
+    private static List<Map<?, ?>> paginar(HttpClient http, String primeira) throws IOException, InterruptedException {
+        List<Map<?, ?>> itens = new ArrayList<>();
+        String pagina = primeira;
+        while (pagina != null) {
+            HttpResponse<String> resp = http.send(HttpRequest.newBuilder(URI.create(pagina)).build(), HttpResponse.BodyHandlers.ofString());
+            if (resp.statusCode() != 200) throw new IllegalStateException("GET " + pagina + " respondeu " + resp.statusCode());
+            for (Map<?, ?> item : JSON.readValue(resp.body(), Map[].class)) itens.add(item);
+            pagina = resp.headers().firstValue("X-Next-After").map(after -> primeira + "&after=" + after).orElse(null);
+        }
+        return itens;
+    }
+
+    private static long id(Map<?, ?> item) {
+        return ((Number) item.get("id")).longValue();
+    }
+
+    Map<String, Object> executar(int threads, int aquecimentoSeg, int duracaoSeg, Map<Operacao, Integer> mix) throws Exception {
+        Operacao[] roleta = montarRoleta(mix);
+        long inicioMedicao = System.nanoTime() + TimeUnit.SECONDS.toNanos(aquecimentoSeg);
+        long fim = inicioMedicao + TimeUnit.SECONDS.toNanos(duracaoSeg);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<Amostras>> futuros = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futuros.add(pool.submit(() -> {
+                Amostras amostras = new Amostras();
+                ThreadLocalRandom r = ThreadLocalRandom.current();
+                long agora;
+                while ((agora = System.nanoTime()) < fim) {
+                    Operacao op = roleta[r.nextInt(roleta.length)];
+                    Resultado resultado;
+                    try {
+                        resultado = executar(op, r);
+                    } catch (IOException e) {
+                        resultado = Resultado.ERRO;
+                    }
+                    long latencia = System.nanoTime() - agora;
+                    // null: acabaram os pedidos pendentes, nenhuma requisição foi feita
+                    if (resultado != null && agora >= inicioMedicao) amostras.registrar(op, latencia, resultado);
+                }
+                return amostras;
+            }));
+        }
+        Amostras total = new Amostras();
+        for (Future<Amostras> f : futuros) total.juntar(f.get());
+        pool.shutdown();
+        Map<String, Object> relatorio = total.relatorio(threads, duracaoSeg);
+        relatorio.put("pedidosPendentesRestantes", pendentes.size());
+        if (pendentes.isEmpty()) System.out.println("aviso: os pedidos pendentes acabaram; ATUALIZAR_STATUS parou de ser amostrado");
+        return relatorio;
+    }
+
+    private Resultado executar(Operacao op, ThreadLocalRandom r) throws IOException, InterruptedException {
+        HttpRequest.Builder req;
+        switch (op) {
+            case LOGIN -> {
+                String corpo = JSON.writeValueAsString(Map.of("cpf", GeradorDadosCarga.cpfCliente(r.nextInt(clientes)),
+                    "senha", GeradorDadosCarga.SENHA_PADRAO));
+                req = post("/usuarios/login", corpo);
+            }
+            case LISTAR_POR_CLIENTE -> req = HttpRequest.newBuilder(URI.create(baseUrl + "/pedidos/cliente/"
+                + clienteIds.get(r.nextInt(clienteIds.size())))).GET();
+            case CRIAR_PEDIDO -> {
+                String corpo = JSON.writeValueAsString(Map.of(
+                    "cliente", Map.of("id", clienteIds.get(r.nextInt(clienteIds.size()))),
+                    "automovel", Map.of("id", automovelIds.get(r.nextInt(automovelIds.size())))));
+                req = post("/pedidos", corpo);
+            }
+            default -> {
+                Long pedidoId = pendentes.poll();
+                if (pedidoId == null) return null;
+                String corpo = JSON.writeValueAsString(Map.of("status", STATUS[r.nextInt(STATUS.length)]));
+                req = HttpRequest.newBuilder(URI.create(baseUrl + "/pedidos/" + pedidoId + "/status"))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(corpo));
+            }
+        }
+        HttpResponse<String> resp = http.send(req.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+        if (op == Operacao.CRIAR_PEDIDO && resp.statusCode() == 200) {
+            pendentes.offer(id(JSON.readValue(resp.body(), Map.class)));
+        }
+        if (resp.statusCode() == 409) return Resultado.CONFLITO;
+        return resp.statusCode() < 400 ? Resultado.OK : Resultado.ERRO;
+    }
+
+    private HttpRequest.Builder post(String path, String corpo) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(corpo));
+    }
+
+    private static Operacao[] montarRoleta(Map<Operacao, Integer> mix) {
+        List<Operacao> roleta = new ArrayList<>();
+        mix.forEach((op, peso) -> { for (int i = 0; i < peso; i++) roleta.add(op); });
+        if (roleta.isEmpty()) throw new IllegalArgumentException("carga.mix sem operações");
+        return roleta.toArray(Operacao[]::new);
+    }
+
+    static Map<Operacao, Integer> lerMix(String mix) {
+        Map<String, Operacao> nomes = Map.of("login", Operacao.LOGIN, "listar", Operacao.LISTAR_POR_CLIENTE,
+            "criar", Operacao.CRIAR_PEDIDO, "status", Operacao.ATUALIZAR_STATUS);
+        Map<Operacao, Integer> resultado = new EnumMap<>(Operacao.class);
+        for (String parte : mix.split(",")) {
+            String[] kv = parte.trim().split(":");
+            Operacao op = nomes.get(kv[0].trim());
+            if (op == null) throw new IllegalArgumentException("Operação desconhecida em carga.mix: " + kv[0]);
+            resultado.put(op, Integer.parseInt(kv[1].trim()));
+        }
+        return resultado;
+    }
+
+    // Latências por operação (nanos) coletadas por thread e juntadas no fim; os 409 só são contados, fora dos percentis
+    static final class Amostras {
+        private final Map<Operacao, long[]> latencias = new EnumMap<>(Operacao.class);
+        private final Map<Operacao, Integer> contagem = new EnumMap<>(Operacao.class);
+        private final Map<Operacao, Integer> erros = new EnumMap<>(Operacao.class);
+        private final Map<Operacao, Integer> conflitos = new EnumMap<>(Operacao.class);
+
+        void registrar(Operacao op, long nanos, Resultado resultado) {
+            if (resultado == Resultado.CONFLITO) {
+                conflitos.merge(op, 1, Integer::sum);
+                return;
+            }
+            int n = contagem.getOrDefault(op, 0);
+            long[] arr = latencias.computeIfAbsent(op, k -> new long[1024]);
+            if (n == arr.length) latencias.put(op, arr = Arrays.copyOf(arr, n * 2));
+            arr[n] = nanos;
+            contagem.put(op, n + 1);
+            if (resultado == Resultado.ERRO) erros.merge(op, 1, Integer::sum);
+        }
+
+        void juntar(Amostras outra) {
+            outra.contagem.forEach((op, n) -> {
+                long[] arr = outra.latencias.get(op);
+                for (int i = 0; i < n; i++) registrar(op, arr[i], Resultado.OK);
+            });
+            outra.erros.forEach((op, e) -> erros.merge(op, e, Integer::sum));
+            outra.conflitos.forEach((op, c) -> conflitos.merge(op, c, Integer::sum));
+        }
+
+        Map<String, Object> relatorio(int threads, int duracaoSeg) {
+            Map<String, Object> rel = new LinkedHashMap<>();
+            rel.put("threads", threads);
+            rel.put("duracaoSegundos", duracaoSeg);
+            Map<String, Object> porOperacao = new LinkedHashMap<>();
+            long totalReq = 0;
+            System.out.printf("%-20s %10s %10s %10s %10s %10s %8s %9s%n", "operacao", "req", "req/s", "p50 ms", "p99 ms", "max ms",
+                "erros", "409");
+            for (Operacao op : Operacao.values()) {
+                int n = contagem.getOrDefault(op, 0);
+                if (n == 0 && !conflitos.containsKey(op)) continue;
+                long[] arr = Arrays.copyOf(latencias.getOrDefault(op, new long[0]), n);
+                Arrays.sort(arr);
+                totalReq += n;
+                Map<String, Object> m = new LinkedHashMap<>();
+                m.put("requisicoes", n);
+                m.put("vazaoPorSegundo", n / (double) duracaoSeg);
+                m.put("p50Ms", percentil(arr, 0.50));
+                m.put("p99Ms", percentil(arr, 0.99));
+                m.put("maxMs", maximo(arr));
+                m.put("erros", erros.getOrDefault(op, 0));
+                m.put("conflitos", conflitos.getOrDefault(op, 0));
+                porOperacao.put(op.name(), m);
+                System.out.printf("%-20s %10d %10.1f %10.2f %10.2f %10.2f %8d %9d%n", op, n, n / (double) duracaoSeg,
+                    percentil(arr, 0.50), percentil(arr, 0.99), maximo(arr), erros.getOrDefault(op, 0),
+                    conflitos.getOrDefault(op, 0));
+            }
+            rel.put("vazaoTotalPorSegundo", totalReq / (double) duracaoSeg);
+            rel.put("operacoes", porOperacao);
+            System.out.printf("total: %d requisições, %.1f req/s%n", totalReq, totalReq / (double) duracaoSeg);
+            return rel;
+        }
+
+        private static double maximo(long[] ordenado) {
+            return ordenado.length == 0 ? 0 : ordenado[ordenado.length - 1] / 1e6;
+        }
+
+        private static double percentil(long[] ordenado, double p) {
+            if (ordenado.length == 0) return 0;
+            int idx = (int) Math.ceil(p * ordenado.length) - 1;
+            return ordenado[Math.max(0, idx)] / 1e6;
+        }
+    }
+}
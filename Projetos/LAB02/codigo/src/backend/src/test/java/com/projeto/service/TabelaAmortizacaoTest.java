@@ -0,0 +1,55 @@
+package com.projeto.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TabelaAmortizacaoTest {
+
+    @Test
+    void price_parcelasIguais_eTotaisBatemComFormaFechada() {
+        double[] soma = new double[3];
+        double[] primeiraEUltima = new double[2];
+        TabelaAmortizacao.gerar(TabelaAmortizacao.Sistema.PRICE, 300_000, 360, 0.9, (n, parcela, juros, amortizacao, saldo) -> {
+            soma[0] += parcela;
+            soma[1] += juros;
+            soma[2] += amortizacao;
+            if (n == 1) primeiraEUltima[0] = parcela;
+            if (n == 360) {
+                primeiraEUltima[1] = parcela;
+                assertThat(saldo).isZero();
+            }
+        });
+        assertThat(primeiraEUltima[1]).isCloseTo(primeiraEUltima[0], within(1e-6));
+        assertThat(primeiraEUltima[0]).isCloseTo(TabelaAmortizacao.primeiraParcela(TabelaAmortizacao.Sistema.PRICE, 300_000, 360, 0.9), within(1e-9));
+        assertThat(soma[2]).isCloseTo(300_000, within(1e-4));
+        assertThat(soma[1]).isCloseTo(TabelaAmortizacao.totalJuros(TabelaAmortizacao.Sistema.PRICE, 300_000, 360, 0.9), within(1e-4));
+        assertThat(soma[0]).isCloseTo(soma[1] + soma[2], within(1e-4));
+    }
+
+    @Test
+    void sac_amortizacaoConstante_eParcelasDecrescentes() {
+        double[] soma = new double[2];
+        double[] anterior = {Double.MAX_VALUE};
+        TabelaAmortizacao.gerar(TabelaAmortizacao.Sistema.SAC, 120_000, 360, 1.0, (n, parcela, juros, amortizacao, saldo) -> {
+            assertThat(amortizacao).isCloseTo(120_000 / 360.0, within(1e-9));
+            assertThat(parcela).isLessThan(anterior[0]);
+            anterior[0] = parcela;
+            soma[0] += juros;
+            soma[1] += amortizacao;
+        });
+        assertThat(soma[1]).isCloseTo(120_000, within(1e-6));
+        assertThat(soma[0]).isCloseTo(TabelaAmortizacao.totalJuros(TabelaAmortizacao.Sistema.SAC, 120_000, 360, 1.0), within(1e-4));
+        assertThat(TabelaAmortizacao.primeiraParcela(TabelaAmortizacao.Sistema.SAC, 120_000, 360, 1.0)).isCloseTo(1533.33, within(0.01));
+    }
+
+    @Test
+    void taxaZero_divideOValorIgualmente() {
+        TabelaAmortizacao.gerar(TabelaAmortizacao.Sistema.PRICE, 1200, 12, 0, (n, parcela, juros, amortizacao, saldo) -> {
+            assertThat(parcela).isCloseTo(100, within(1e-9));
+            assertThat(juros).isZero();
+        });
+        assertThat(TabelaAmortizacao.totalJuros(TabelaAmortizacao.Sistema.PRICE, 1200, 12, 0)).isZero();
+    }
+}
@@ -0,0 +1,67 @@
+package com.projeto.service;
+
+import java.time.Duration;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import com.projeto.model.Usuario;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenServiceTest {
+
+    private static final String CHAVE = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final TokenService tokens = new TokenService(CHAVE, Duration.ofHours(1));
+
+    @Test
+    void tokenEmitido_verificaSemBanco_eCarregaUsuarioETipo() {
+        TokenService.TokenEmitido emitido = tokens.emitir(42L, Usuario.TipoUsuario.Agente);
+
+        TokenService.Sessao sessao = tokens.verificar(emitido.token()).orElseThrow();
+        assertThat(sessao.usuarioId()).isEqualTo(42L);
+        assertThat(sessao.tipoUsuario()).isEqualTo(Usuario.TipoUsuario.Agente);
+        assertThat(sessao.expiraEm()).isEqualTo(emitido.expiraEm());
+        // mesma chave em outra instância (outro nó): o token continua válido
+        assertThat(new TokenService(CHAVE, Duration.ofHours(1)).verificar(emitido.token())).isPresent();
+    }
+
+    @Test
+    void tokenAdulterado_expiradoOuDeOutraChave_eRecusado() throws InterruptedException {
+        String token = tokens.emitir(1L, Usuario.TipoUsuario.Cliente).token();
+        String corpo = token.substring(0, token.indexOf('.'));
+        String forjado = Base64.getUrlEncoder().withoutPadding().encodeToString(
+            new String(Base64.getUrlDecoder().decode(corpo)).replace("|1|Cliente|", "|1|Agente|").getBytes());
+
+        assertThat(tokens.verificar(forjado + token.substring(token.indexOf('.')))).isEmpty();
+        assertThat(tokens.verificar(token + "x")).isEmpty();
+        assertThat(tokens.verificar("lixo")).isEmpty();
+        assertThat(new TokenService("", Duration.ofHours(1)).verificar(token)).isEmpty();
+
+        TokenService curto = new TokenService(CHAVE, Duration.ofMillis(1));
+        String expirando = curto.emitir(1L, Usuario.TipoUsuario.Cliente).token();
+        Thread.sleep(5);
+        assertThat(curto.verificar(expirando)).isEmpty();
+    }
+
+    @Test
+    void revogacao_porTokenEPorUsuario() throws InterruptedException {
+        String a = tokens.emitir(7L, Usuario.TipoUsuario.Cliente).token();
+        String b = tokens.emitir(7L, Usuario.TipoUsuario.Cliente).token();
+
+        tokens.revogar(tokens.verificar(a).orElseThrow());
+        assertThat(tokens.verificar(a)).isEmpty();
+        assertThat(tokens.verificar(b)).isPresent();
+
+        tokens.revogarUsuario(7L);
+        assertThat(tokens.verificar(b)).isEmpty();
+        Thread.sleep(2);
+        assertThat(tokens.verificar(tokens.emitir(7L, Usuario.TipoUsuario.Cliente).token())).isPresent();
+
+        // a limpeza mantém revogações cujos tokens ainda não expiraram
+        tokens.removerRevogacoesExpiradas();
+        assertThat(tokens.verificar(a)).isEmpty();
+        assertThat(tokens.verificar(b)).isEmpty();
+    }
+}